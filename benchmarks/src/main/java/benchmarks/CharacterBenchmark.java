@@ -0,0 +1,67 @@
+package benchmarks;
+
+import business.entities.Character;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistance.json.CharacterJsonDAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookups of CharacterJsonDAO, used to resolve the members of every team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private Path file;
+    private CharacterJsonDAO characterDAO;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("dpoo-bench-characters", ".json");
+        SyntheticData.writeCharacters(file, size);
+        characterDAO = new CharacterJsonDAO(file.toString());
+        random = new SplittableRandom(42);
+
+        //builds the character index before measuring
+        characterDAO.getCharacterById(SyntheticData.characterId(0));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Character getCharacterById() {
+        return characterDAO.getCharacterById(SyntheticData.characterId(random.nextInt(size)));
+    }
+
+    @Benchmark
+    public Character getCharacterByName() {
+        return characterDAO.getCharacterByName("Character " + random.nextInt(size));
+    }
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import business.CombatEngine;
+import business.CombatManager;
+import business.ItemManager;
+import business.StatisticsManager;
+import business.TeamManager;
+import business.entities.SimulationResult;
+import business.entities.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistance.json.CharacterJsonDAO;
+import persistance.json.ItemJsonDAO;
+import persistance.json.StatisticsJsonDAO;
+import persistance.json.TeamJsonDAO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many complete combats per second CombatManager can simulate with each engine.
+ * The second team only attacks, so no combat gets stuck with both teams defending.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombatBenchmark {
+
+    @Param({"OBJECT", "ARRAY"})
+    private CombatEngine engine;
+
+    @Param({"1000", "1000000"})
+    private int items;
+
+    private Path directory;
+    private CombatManager combatManager;
+    private Team team1;
+    private Team team2;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = SyntheticData.createDataDirectory(items, 1000, 2);
+        SyntheticData.writeCombatTeams(directory.resolve("teams.json"), 1000);
+
+        ItemManager itemManager = new ItemManager(new ItemJsonDAO(directory.resolve("items.json").toString()));
+        CharacterJsonDAO characterDAO = new CharacterJsonDAO(directory.resolve("characters.json").toString());
+        TeamManager teamManager = new TeamManager(itemManager,
+                new TeamJsonDAO(directory.resolve("teams.json").toString(), characterDAO));
+        StatisticsManager statisticsManager = new StatisticsManager(new StatisticsJsonDAO(
+                directory.resolve("stats.json").toString(), directory.resolve("stats.log").toString()));
+        combatManager = new CombatManager(itemManager, teamManager, statisticsManager);
+
+        List<Team> teams = teamManager.loadTeams();
+        team1 = teams.get(0);
+        team2 = teams.get(1);
+        random = new SplittableRandom(42);
+
+        //loads the item catalog before measuring
+        itemManager.getRandomWeapon(random);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        SyntheticData.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public SimulationResult fight() {
+        return combatManager.simulateCombats(team1, team2, 1, random, engine);
+    }
+}
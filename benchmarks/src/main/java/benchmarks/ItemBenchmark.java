@@ -0,0 +1,75 @@
+package benchmarks;
+
+import business.entities.Armor;
+import business.entities.Item;
+import business.entities.Weapon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistance.json.ItemJsonDAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the random item draws of ItemJsonDAO, done for every member at the start of a combat
+ * and every time a member requests a weapon, and the lookup of an item by its name.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private Path file;
+    private ItemJsonDAO itemDAO;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("dpoo-bench-items", ".json");
+        SyntheticData.writeItems(file, size);
+        itemDAO = new ItemJsonDAO(file.toString());
+        random = new SplittableRandom(42);
+
+        //loads the item catalog before measuring
+        itemDAO.getRandomWeapon(random);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Weapon getRandomWeapon() {
+        return itemDAO.getRandomWeapon(random);
+    }
+
+    @Benchmark
+    public Armor getRandomArmor() {
+        return itemDAO.getRandomArmor(random);
+    }
+
+    @Benchmark
+    public Item getItemByName() {
+        return itemDAO.getItemByName("Item " + random.nextInt(size));
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import business.StrategyFactory;
+import business.entities.Character;
+import business.entities.Member;
+import business.entities.SuperArmor;
+import business.entities.Weapon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the damage formulas of Member, which are evaluated in every attack of a combat.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemberBenchmark {
+    private Member attacker;
+    private Member defender;
+    private double incomingAttack;
+
+    @Setup
+    public void setup() {
+        attacker = new Member(1, new Character(1, "Attacker", 120), StrategyFactory.createStrategyByName("offensive"));
+        attacker.equipWeapon(new Weapon(1, "Weapon", 60, 10));
+        attacker.accumulateDamage(0.3);
+        attacker.updatePendingDamage();
+
+        defender = new Member(2, new Character(2, "Defender", 90), StrategyFactory.createStrategyByName("defensive"));
+        defender.equipArmor(new SuperArmor(2, "Super armor", 20, 10));
+        defender.defendNextTurn();
+        defender.applyDefending();
+
+        incomingAttack = attacker.calculateAttack();
+    }
+
+    @Benchmark
+    public double calculateAttack() {
+        return attacker.calculateAttack();
+    }
+
+    @Benchmark
+    public double calculateFinalDamage() {
+        return defender.calculateFinalDamage(incomingAttack);
+    }
+}
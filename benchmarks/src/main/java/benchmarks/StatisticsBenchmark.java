@@ -0,0 +1,80 @@
+package benchmarks;
+
+import business.StatisticsManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import persistance.json.StatisticsJsonDAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many combat results per second StatisticsManager can record, including the appends
+ * to the log and the periodic compactions into the statistics file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private StatisticsManager statisticsManager;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("dpoo-bench-stats");
+        SyntheticData.writeStatistics(directory.resolve("stats.json"), size);
+        statisticsManager = new StatisticsManager(new StatisticsJsonDAO(
+                directory.resolve("stats.json").toString(), directory.resolve("stats.log").toString()));
+
+        //loads the statistics before measuring
+        statisticsManager.getStaticByName(SyntheticData.teamName(0));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        statisticsManager.compact();
+        SyntheticData.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void recordCombatResult() {
+        recordRandomResult();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordCombatResultConcurrent() {
+        recordRandomResult();
+    }
+
+    /**
+     * Records a combat between two random teams.
+     */
+    private void recordRandomResult() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String team1 = SyntheticData.teamName(random.nextInt(size));
+        String team2 = SyntheticData.teamName(random.nextInt(size));
+        statisticsManager.recordCombatResult(team1, team2, random.nextInt(5), random.nextInt(5), team1);
+    }
+}
@@ -0,0 +1,229 @@
+package benchmarks;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Generates data files with the same format as the files in data/, with any number of entries,
+ * so the benchmarks can measure the persistence and combat code with much more data than the real files.
+ * The files are written with a streaming writer, so even a million entries never have to fit in memory,
+ * and a fixed seed always generates the same data.
+ */
+public final class SyntheticData {
+    //seed of the generated data
+    private static final long SEED = 42L;
+
+    private static final String[] ITEM_CLASSES = {"Weapon", "Superweapon", "Armor", "Superarmor"};
+    private static final String[] STRATEGIES = {"balanced", "offensive", "defensive", "sniper"};
+
+    //strategies that attack in every turn
+    private static final String[] ATTACKING_STRATEGIES = {"offensive", "sniper"};
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Creates a temporary directory with an items, characters, teams and statistics file.
+     *
+     * @param items      The number of items.
+     * @param characters The number of characters.
+     * @param teams      The number of teams, every team has four random characters and its own statistics.
+     * @return The created directory.
+     * @throws IOException If the files can't be written.
+     */
+    public static Path createDataDirectory(int items, int characters, int teams) throws IOException {
+        Path directory = Files.createTempDirectory("dpoo-bench");
+        writeItems(directory.resolve("items.json"), items);
+        writeCharacters(directory.resolve("characters.json"), characters);
+        writeTeams(directory.resolve("teams.json"), teams, characters);
+        writeStatistics(directory.resolve("stats.json"), teams);
+        return directory;
+    }
+
+    /**
+     * Deletes a directory created by createDataDirectory with all its files.
+     *
+     * @param directory The directory to delete.
+     * @throws IOException If the files can't be deleted.
+     */
+    public static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Returns the id of a generated character.
+     *
+     * @param index The position of the character in the file.
+     * @return The id of the character.
+     */
+    public static long characterId(int index) {
+        return 1_000_000L + index * 7L;
+    }
+
+    /**
+     * Returns the name of a generated team.
+     *
+     * @param index The position of the team in the file.
+     * @return The name of the team.
+     */
+    public static String teamName(int index) {
+        return "Team " + index;
+    }
+
+    /**
+     * Writes a file with the given number of items, alternating the four item classes.
+     *
+     * @param file  The file to write.
+     * @param count The number of items.
+     * @throws IOException If the file can't be written.
+     */
+    public static void writeItems(Path file, int count) throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        try (JsonWriter writer = open(file)) {
+            writer.beginArray();
+            for (int i = 0; i < count; i++) {
+                writer.beginObject();
+                writer.name("id").value(i + 1);
+                writer.name("name").value("Item " + i);
+                writer.name("power").value(random.nextInt(1, 100));
+                writer.name("durability").value(random.nextInt(1, 20));
+                writer.name("class").value(ITEM_CLASSES[i % ITEM_CLASSES.length]);
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+    }
+
+    /**
+     * Writes a file with the given number of characters.
+     *
+     * @param file  The file to write.
+     * @param count The number of characters.
+     * @throws IOException If the file can't be written.
+     */
+    public static void writeCharacters(Path file, int count) throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        try (JsonWriter writer = open(file)) {
+            writer.beginArray();
+            for (int i = 0; i < count; i++) {
+                writer.beginObject();
+                writer.name("id").value(characterId(i));
+                writer.name("name").value("Character " + i);
+                writer.name("weight").value(random.nextInt(50, 150));
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+    }
+
+    /**
+     * Writes a file with the given number of teams of four random characters.
+     *
+     * @param file       The file to write.
+     * @param count      The number of teams.
+     * @param characters The number of characters the members are selected from.
+     * @throws IOException If the file can't be written.
+     */
+    public static void writeTeams(Path file, int count, int characters) throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        try (JsonWriter writer = open(file)) {
+            writer.beginArray();
+            for (int i = 0; i < count; i++) {
+                writeTeam(writer, teamName(i), STRATEGIES, i, characters, random);
+            }
+            writer.endArray();
+        }
+    }
+
+    /**
+     * Writes a file with two teams for combats: the first one has a member with each strategy and the
+     * second one only has members that attack in every turn. A combat where the remaining members of
+     * both teams only defend never ends, so the second team makes sure every combat ends.
+     *
+     * @param file       The file to write.
+     * @param characters The number of characters the members are selected from.
+     * @throws IOException If the file can't be written.
+     */
+    public static void writeCombatTeams(Path file, int characters) throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        try (JsonWriter writer = open(file)) {
+            writer.beginArray();
+            writeTeam(writer, teamName(0), STRATEGIES, 0, characters, random);
+            writeTeam(writer, teamName(1), ATTACKING_STRATEGIES, 0, characters, random);
+            writer.endArray();
+        }
+    }
+
+    /**
+     * Writes a team of four random characters that use the given strategies in turn.
+     *
+     * @param writer     The writer of the teams file.
+     * @param name       The name of the team.
+     * @param strategies The strategies of the members.
+     * @param offset     The strategy of the first member.
+     * @param characters The number of characters the members are selected from.
+     * @param random     The random number generator used to select the characters.
+     * @throws IOException If the team can't be written.
+     */
+    private static void writeTeam(JsonWriter writer, String name, String[] strategies, int offset, int characters,
+                                  SplittableRandom random) throws IOException {
+        writer.beginObject();
+        writer.name("name").value(name);
+        writer.name("members").beginArray();
+        for (int j = 0; j < 4; j++) {
+            writer.beginObject();
+            writer.name("id").value(characterId(random.nextInt(characters)));
+            writer.name("strategy").value(strategies[(offset + j) % strategies.length]);
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    /**
+     * Writes a file with empty statistics for the given number of teams.
+     *
+     * @param file  The file to write.
+     * @param teams The number of teams.
+     * @throws IOException If the file can't be written.
+     */
+    public static void writeStatistics(Path file, int teams) throws IOException {
+        try (JsonWriter writer = open(file)) {
+            writer.beginArray();
+            for (int i = 0; i < teams; i++) {
+                writer.beginObject();
+                writer.name("name").value(teamName(i));
+                writer.name("games_played").value(0);
+                writer.name("games_won").value(0);
+                writer.name("KO_done").value(0);
+                writer.name("KO_received").value(0);
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+    }
+
+    /**
+     * Opens a streaming JSON writer for a file.
+     *
+     * @param file The file to write.
+     * @return The writer.
+     * @throws IOException If the file can't be opened.
+     */
+    private static JsonWriter open(Path file) throws IOException {
+        Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        return new JsonWriter(writer);
+    }
+}
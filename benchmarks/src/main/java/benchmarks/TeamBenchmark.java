@@ -0,0 +1,57 @@
+package benchmarks;
+
+import business.entities.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistance.json.CharacterJsonDAO;
+import persistance.json.TeamJsonDAO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long TeamJsonDAO takes to load all the teams with their members resolved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private TeamJsonDAO teamDAO;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = SyntheticData.createDataDirectory(0, 1000, size);
+        CharacterJsonDAO characterDAO = new CharacterJsonDAO(directory.resolve("characters.json").toString());
+        teamDAO = new TeamJsonDAO(directory.resolve("teams.json").toString(), characterDAO);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        SyntheticData.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public List<Team> loadTeams() {
+        return teamDAO.loadTeams();
+    }
+}
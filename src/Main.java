@@ -1,4 +1,5 @@
 import business.*;
+import persistance.API.ApiStartupProbe;
 import presentation.Controller;
 import presentation.UI;
 
@@ -14,16 +15,18 @@ public class Main {
      * @param args Commandline arguments passed to the program
      */
     public static void main(String[] args) {
-        CharacterManager characterManager = new CharacterManager();
-        ItemManager itemManager = new ItemManager();
-        TeamManager teamManager = new TeamManager(itemManager);
-        StatisticsManager statisticsManager = new StatisticsManager();
+        ApiStartupProbe probe = ApiStartupProbe.probeAll();
+
+        CharacterManager characterManager = new CharacterManager(probe);
+        ItemManager itemManager = new ItemManager(probe);
+        TeamManager teamManager = new TeamManager(itemManager, probe);
+        StatisticsManager statisticsManager = new StatisticsManager(probe);
         CombatManager combatManager = new CombatManager(itemManager,teamManager, statisticsManager);
 
         UI ui = new UI();
 
         Controller controller = new Controller(ui, combatManager, itemManager, teamManager, characterManager, statisticsManager);
-        combatManager.setController(controller);
+        combatManager.setCombatListener(controller);
         controller.runMain();
     }
 }
@@ -1,7 +1,5 @@
 package business;
 
-import business.entities.Member;
-
 /**
  * balance strategy class child for CombatStrategy
  * This strategy balances between attacking, defending, and requesting a new weapon.
@@ -20,16 +18,18 @@ public class BalancedStrategy extends CombatStrategy {
     /**
      * Decides the combat action of the given member based on their weapon, armor, and damage taken.
      *
-     * @param attacker The member taking the turn.
+     * @param hasWeapon   Whether the member has a weapon equipped.
+     * @param hasArmor    Whether the member has an armor equipped.
+     * @param damageTaken The damage taken by the member.
      * @return The decided action, which may be ATTACK, DEFEND, or REQUEST_WEAPON.
      */
     @Override
-    public CombatAction decideAction(Member attacker) {
-        if (attacker.getWeapon() == null) {
+    public CombatAction decideAction(boolean hasWeapon, boolean hasArmor, double damageTaken) {
+        if (!hasWeapon) {
             return CombatAction.REQUEST_WEAPON;
         } else {
-            if (attacker.getArmor() != null) {
-                if (attacker.getDamageTaken() >= 0.5 && attacker.getDamageTaken() <= 1.0) {
+            if (hasArmor) {
+                if (damageTaken >= 0.5 && damageTaken <= 1.0) {
                     return CombatAction.DEFEND;
                 } else {
                     return CombatAction.ATTACK;
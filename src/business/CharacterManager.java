@@ -1,6 +1,7 @@
 package business;
 
 import business.entities.Character;
+import persistance.API.ApiStartupProbe;
 import persistance.API.CharacterApiDAO;
 import persistance.CharacterDAO;
 import persistance.exceptions.PersistanceException;
@@ -17,19 +18,31 @@ public class CharacterManager {
     private CharacterDAO characterDAO;
 
     /**
-     * Default constructor that initializes the CharacterManager with a JSON-based DAO.
+     * Constructor that initializes the CharacterManager with the appropriate DAO.
+     * Uses the API with the characters downloaded by the startup probe if it is available, falls back to JSON otherwise.
      *
-     * @throws PersistanceException If an error occurs while initializing the DAO.
+     * @param probe The results of the startup probe of the API.
      */
-    public CharacterManager() {
+    public CharacterManager(ApiStartupProbe probe) {
         try {
-            CharacterApiDAO.validateUsage(); // Check API availability
-            this.characterDAO = new CharacterApiDAO();
+            if (!probe.isCharactersAvailable()) {
+                throw new PersistanceException("Characters API is not available");
+            }
+            this.characterDAO = new CharacterApiDAO(probe.getCharactersJson());
         } catch (PersistanceException e) {
             this.characterDAO = new CharacterJsonDAO();
         }
     }
 
+    /**
+     * Constructor that initializes the CharacterManager with the given DAO.
+     *
+     * @param characterDAO The DAO used to retrieve the characters.
+     */
+    public CharacterManager(CharacterDAO characterDAO) {
+        this.characterDAO = characterDAO;
+    }
+
     /**
      * Validates the persistence source to ensure the data source is accessible.
      *
@@ -0,0 +1,103 @@
+package business;
+
+import business.entities.MemberPrint;
+import business.entities.TeamPrint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory reverse index from the id of a character to the names of the teams it is a member of.
+ * It is built from the stored teams without resolving any character, so finding the teams of a
+ * character is a single hash lookup, and it is updated when a team is added or deleted.
+ */
+public class CharacterTeamIndex {
+
+    //names of the teams of every character, in the order the teams were stored
+    private final Map<Long, Set<String>> teamsByCharacter = new HashMap<>();
+
+    //ids of the members of every team, indexed by the lower-case team name
+    private final Map<String, List<Long>> membersByTeam = new HashMap<>();
+
+    /**
+     * Constructs the index of the given teams.
+     *
+     * @param teams The stored teams, in the order they were stored.
+     */
+    public CharacterTeamIndex(List<TeamPrint> teams) {
+        for (TeamPrint team : teams) {
+            indexTeam(team);
+        }
+    }
+
+    /**
+     * Adds the members of a team to the index.
+     *
+     * @param team The added team.
+     */
+    public synchronized void addTeam(TeamPrint team) {
+        indexTeam(team);
+    }
+
+    /**
+     * Adds the members of a team to the maps of the index.
+     *
+     * @param team The added team.
+     */
+    private void indexTeam(TeamPrint team) {
+        List<Long> members = new ArrayList<>();
+        for (MemberPrint member : team.getMembers()) {
+            teamsByCharacter.computeIfAbsent(member.getId(), id -> new LinkedHashSet<>()).add(team.getName());
+            members.add(member.getId());
+        }
+        membersByTeam.put(key(team.getName()), members);
+    }
+
+    /**
+     * Removes a team from the index, ignoring the case of the name.
+     *
+     * @param teamName The name of the deleted team.
+     */
+    public synchronized void removeTeam(String teamName) {
+        List<Long> members = membersByTeam.remove(key(teamName));
+        if (members == null) {
+            return;
+        }
+
+        for (long id : members) {
+            Set<String> teams = teamsByCharacter.get(id);
+            if (teams != null) {
+                teams.removeIf(name -> name.equalsIgnoreCase(teamName));
+                if (teams.isEmpty()) {
+                    teamsByCharacter.remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the names of the teams a character is a member of.
+     *
+     * @param characterId The id of the character.
+     * @return A new list with the names of the teams, empty if the character is not in any team.
+     */
+    public synchronized List<String> getTeamsWithCharacter(long characterId) {
+        Set<String> teams = teamsByCharacter.get(characterId);
+        return teams != null ? new ArrayList<>(teams) : new ArrayList<>();
+    }
+
+    /**
+     * Normalizes a team name so removals ignore its case.
+     *
+     * @param name The name of the team.
+     * @return The key of the team.
+     */
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package business;
+
+/**
+ * Enum representing the different ways a simulated combat can be executed.
+ * The OBJECT and ARRAY engines follow the same rules and draw the same random numbers, so a combat with the
+ * same random number generator has the same result with either of them. The TABLE engine approximates the
+ * damage of the attacks, so its results are close to theirs but not the same.
+ */
+public enum CombatEngine {
+    /**
+     * Executes the combat over the Team and Member objects
+     */
+    OBJECT,
+
+    /**
+     * Executes the combat over primitive arrays with the state of the members, without allocating objects in the rounds
+     */
+    ARRAY,
+
+    /**
+     * Executes the combat like ARRAY, reading the damage of the attacks from a DamageTable at quantized damage levels
+     */
+    TABLE
+}
@@ -0,0 +1,378 @@
+package business;
+
+import business.entities.Armor;
+import business.entities.Member;
+import business.entities.Team;
+import business.entities.Weapon;
+import persistance.exceptions.PersistanceException;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Executes simulated combats between two teams over primitive arrays instead of Member objects.
+ * The members of both teams are copied once into parallel arrays, the members of the first team
+ * first, and every combat only overwrites the values of the arrays, so the rounds don't allocate
+ * any object. It follows the same rules and draws the same random numbers as the combats of
+ * CombatManager over the Team objects.
+ * A kernel keeps the state of its combat, so it must not be shared between threads.
+ */
+class CombatKernel {
+    private final ItemManager itemManager;
+
+    //number of members of both teams
+    private final int size;
+
+    //index of the first member of the second team
+    private final int team2Start;
+
+    //data of the members that does not change during a combat
+    private final int[] weight;
+    private final CombatStrategy[] strategy;
+    private final boolean[] mostDamaged;
+
+    //combat state of the members
+    private final double[] damageTaken;
+    private final double[] pendingDamageTaken;
+    private final boolean[] ko;
+    private final boolean[] defending;
+    private final boolean[] defendingNextTurn;
+
+    //equipped weapons, the attack value already includes the weight of the member
+    private final boolean[] hasWeapon;
+    private final double[] weaponAttack;
+    private final int[] weaponDurability;
+
+    //equipped armors, the armor value already includes the weight of the member
+    private final boolean[] hasArmor;
+    private final double[] armorValue;
+    private final int[] armorDurability;
+
+    //attack and defense terms of the weight of every member at each damage level, null to compute the formulas
+    private final double[][] attackTerms;
+    private final double[][] defenseTerms;
+    private final double[] defendBonus;
+
+    //members of each team that can be attacked, by their position in the team
+    private final TargetIndex[] targets = new TargetIndex[2];
+
+    /**
+     * Constructs a kernel for the combats between two teams that computes the damage with the formulas.
+     *
+     * @param itemManager Manages the items equipped to the members.
+     * @param team1       The first team.
+     * @param team2       The second team.
+     */
+    CombatKernel(ItemManager itemManager, Team team1, Team team2) {
+        this(itemManager, team1, team2, null);
+    }
+
+    /**
+     * Constructs a kernel for the combats between two teams.
+     *
+     * @param itemManager Manages the items equipped to the members.
+     * @param team1       The first team.
+     * @param team2       The second team.
+     * @param damageTable The table the damage is read from at quantized damage levels, or null to compute the formulas.
+     */
+    CombatKernel(ItemManager itemManager, Team team1, Team team2, DamageTable damageTable) {
+        this.itemManager = itemManager;
+        this.team2Start = team1.getMembers().size();
+        this.size = team2Start + team2.getMembers().size();
+
+        this.weight = new int[size];
+        this.strategy = new CombatStrategy[size];
+        this.mostDamaged = new boolean[size];
+        this.damageTaken = new double[size];
+        this.pendingDamageTaken = new double[size];
+        this.ko = new boolean[size];
+        this.defending = new boolean[size];
+        this.defendingNextTurn = new boolean[size];
+        this.hasWeapon = new boolean[size];
+        this.weaponAttack = new double[size];
+        this.weaponDurability = new int[size];
+        this.hasArmor = new boolean[size];
+        this.armorValue = new double[size];
+        this.armorDurability = new int[size];
+        this.attackTerms = damageTable != null ? new double[size][] : null;
+        this.defenseTerms = damageTable != null ? new double[size][] : null;
+        this.defendBonus = damageTable != null ? new double[size] : null;
+
+        this.targets[0] = new TargetIndex(team2Start);
+        this.targets[1] = new TargetIndex(size - team2Start);
+
+        copyMembers(team1.getMembers(), 0);
+        copyMembers(team2.getMembers(), team2Start);
+
+        if (damageTable != null) {
+            for (int i = 0; i < size; i++) {
+                attackTerms[i] = damageTable.attackTerms(weight[i]);
+                defenseTerms[i] = damageTable.defenseTerms(weight[i]);
+                defendBonus[i] = damageTable.defendBonus(weight[i]);
+            }
+        }
+    }
+
+    /**
+     * Copies the data of the members that does not change during a combat.
+     *
+     * @param members The members of a team.
+     * @param start   The index of the first member of the team in the arrays.
+     */
+    private void copyMembers(List<Member> members, int start) {
+        for (int i = 0; i < members.size(); i++) {
+            Member member = members.get(i);
+            weight[start + i] = member.getWeight();
+            strategy[start + i] = member.getStrategy();
+            mostDamaged[start + i] = member.getStrategy().getTargetPolicy() == TargetPolicy.MOST_DAMAGED;
+        }
+    }
+
+    /**
+     * Equips both teams with random items and performs rounds until one of the teams is defeated,
+     * or until CombatManager.MAX_ROUNDS rounds are played.
+     *
+     * @param random The random number generator of the combat.
+     * @return The number of rounds played.
+     * @throws PersistanceException If an error occurs while equipping the members.
+     */
+    int fight(RandomGenerator random) throws PersistanceException {
+        initialize(random);
+
+        int rounds = 0;
+        while (targets[0].aliveCount() > 0 && targets[1].aliveCount() > 0 && rounds < CombatManager.MAX_ROUNDS) {
+            //applying defense from the previous turn
+            for (int i = 0; i < size; i++) {
+                if (defendingNextTurn[i]) {
+                    defending[i] = true;
+                    defendingNextTurn[i] = false;
+                }
+            }
+
+            //execute the turns of each team
+            executeTurn(0, 1, random);
+            executeTurn(1, 0, random);
+
+            for (int i = 0; i < size; i++) {
+                damageTaken[i] += pendingDamageTaken[i];
+                pendingDamageTaken[i] = 0;
+                targets[team(i)].setDamage(i - start(team(i)), damageTaken[i]);
+            }
+
+            KOChecking(random);
+
+            //reset the defending members after turn ends
+            for (int i = 0; i < size; i++) {
+                defending[i] = false;
+            }
+
+            rounds++;
+        }
+
+        return rounds;
+    }
+
+    /**
+     * Checks if a team is defeated after the last combat.
+     *
+     * @param team 1 for the first team, 2 for the second team.
+     * @return true if all the members of the team are KO, false otherwise.
+     */
+    boolean isTeamDefeated(int team) {
+        return targets[team - 1].aliveCount() == 0;
+    }
+
+    /**
+     * Counts the KO members of a team after the last combat.
+     *
+     * @param team 1 for the first team, 2 for the second team.
+     * @return The number of KO members.
+     */
+    int numberOfKO(int team) {
+        int teamSize = team == 1 ? team2Start : size - team2Start;
+        return teamSize - targets[team - 1].aliveCount();
+    }
+
+    /**
+     * Equips every member with a random weapon and armor and resets the combat state,
+     * in the same order as TeamManager.initializeTeam.
+     *
+     * @param random The random number generator used to select the items.
+     * @throws PersistanceException If an error occurs while equipping the members.
+     */
+    private void initialize(RandomGenerator random) throws PersistanceException {
+        for (int i = 0; i < size; i++) {
+            equipWeapon(i, itemManager.getRandomWeapon(random));
+            equipArmor(i, itemManager.getRandomArmor(random));
+
+            damageTaken[i] = 0;
+            pendingDamageTaken[i] = 0;
+            ko[i] = false;
+            defending[i] = false;
+            defendingNextTurn[i] = false;
+        }
+        targets[0].reset();
+        targets[1].reset();
+    }
+
+    /**
+     * Executes a turn for the attacking team against the defending team.
+     *
+     * @param attackingTeam 0 for the first team, 1 for the second team.
+     * @param defendingTeam 0 for the first team, 1 for the second team.
+     * @param random        The random number generator of the combat.
+     * @throws PersistanceException If an error occurs while requesting a weapon.
+     */
+    private void executeTurn(int attackingTeam, int defendingTeam, RandomGenerator random) throws PersistanceException {
+        for (int attacker = start(attackingTeam); attacker < end(attackingTeam); attacker++) {
+            if (ko[attacker]) {
+                continue;
+            }
+
+            CombatAction action = strategy[attacker].decideAction(hasWeapon[attacker], hasArmor[attacker], damageTaken[attacker]);
+
+            switch (action) {
+                case REQUEST_WEAPON:
+                    equipWeapon(attacker, itemManager.getRandomWeapon(random));
+                    break;
+                case DEFEND:
+                    defendingNextTurn[attacker] = true;
+                    break;
+                case ATTACK:
+                    int target;
+                    if (mostDamaged[attacker]) {
+                        target = targets[defendingTeam].mostDamaged();
+                    } else {
+                        target = targets[defendingTeam].randomAlive(random);
+                    }
+                    if (target >= 0) {
+                        performAttack(attacker, start(defendingTeam) + target);
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Performs an attack from attacker to defender and degrades their items,
+     * with the same formulas as Member.calculateAttack and Member.calculateFinalDamage,
+     * or with the terms of the damage table at the nearest damage levels if the kernel has one.
+     *
+     * @param attacker The index of the member performing the attack.
+     * @param defender The index of the member being attacked.
+     */
+    private void performAttack(int attacker, int defender) {
+        double finalDamage;
+        if (attackTerms != null) {
+            finalDamage = attackTerms[attacker][DamageTable.level(damageTaken[attacker])] + weaponAttack[attacker] / 2000.0
+                    - defenseTerms[defender][DamageTable.level(damageTaken[defender])] - armorValue[defender] * 1.4 / 2000.0;
+            if (defending[defender]) {
+                finalDamage -= defendBonus[defender];
+            }
+        } else {
+            double attack = ((weight[attacker] * (1 - damageTaken[attacker])) / 10.0) + (weaponAttack[attacker] / 20.0) + 18;
+
+            double defenseValue = ((200 * (1 - damageTaken[defender])) / weight[defender]) + (armorValue[defender] / 20.0);
+            finalDamage = (attack - ((defenseValue) * 1.4)) / 100.0;
+            if (defending[defender]) {
+                finalDamage -= weight[defender] / 400.0;
+            }
+        }
+
+        //Store the damage
+        pendingDamageTaken[defender] += Math.max(finalDamage, 0);
+
+        //Reduce attacker's weapon durability
+        if (hasWeapon[attacker]) {
+            if (weaponDurability[attacker] > 0) {
+                weaponDurability[attacker]--;
+            }
+            if (weaponDurability[attacker] <= 0) {
+                equipWeapon(attacker, null);
+            }
+        }
+
+        //Reduce defender's armor durability
+        if (hasArmor[defender]) {
+            if (armorDurability[defender] > 0) {
+                armorDurability[defender]--;
+            }
+            if (armorDurability[defender] <= 0) {
+                equipArmor(defender, null);
+            }
+        }
+    }
+
+    /**
+     * Checks for KO status for all members in both teams.
+     *
+     * @param random The random number generator for the KO calculation.
+     */
+    private void KOChecking(RandomGenerator random) {
+        for (int i = 0; i < size; i++) {
+            if (!ko[i] && damageTaken[i] > 0) {
+                // Random value between 1-200
+                double knockOutValue = (random.nextInt(200) + 1) / 100.0;
+
+                if (knockOutValue < damageTaken[i]) {
+                    ko[i] = true;
+                    targets[team(i)].knockOut(i - start(team(i)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the team of a member.
+     *
+     * @param member The index of the member.
+     * @return 0 for the first team, 1 for the second team.
+     */
+    private int team(int member) {
+        return member < team2Start ? 0 : 1;
+    }
+
+    /**
+     * Returns the index of the first member of a team.
+     *
+     * @param team 0 for the first team, 1 for the second team.
+     * @return The index of the first member.
+     */
+    private int start(int team) {
+        return team == 0 ? 0 : team2Start;
+    }
+
+    /**
+     * Returns the index after the last member of a team.
+     *
+     * @param team 0 for the first team, 1 for the second team.
+     * @return The index after the last member.
+     */
+    private int end(int team) {
+        return team == 0 ? team2Start : size;
+    }
+
+    /**
+     * Sets the weapon of a member with its full durability.
+     *
+     * @param member The index of the member.
+     * @param weapon The weapon to equip, or null to remove it.
+     */
+    private void equipWeapon(int member, Weapon weapon) {
+        hasWeapon[member] = weapon != null;
+        weaponAttack[member] = weapon != null ? weapon.getEffectValue(weight[member]) : 0;
+        weaponDurability[member] = weapon != null ? weapon.getDurability() : 0;
+    }
+
+    /**
+     * Sets the armor of a member with its full durability.
+     *
+     * @param member The index of the member.
+     * @param armor  The armor to equip, or null to remove it.
+     */
+    private void equipArmor(int member, Armor armor) {
+        hasArmor[member] = armor != null;
+        armorValue[member] = armor != null ? armor.getEffectValue(weight[member]) : 0;
+        armorDurability[member] = armor != null ? armor.getDurability() : 0;
+    }
+}
@@ -0,0 +1,107 @@
+package business;
+
+import business.entities.Item;
+import business.entities.Member;
+import business.entities.Team;
+import persistance.exceptions.PersistanceException;
+
+/**
+ * Receives the events of a combat executed by CombatManager.
+ * Every event has a default implementation that does nothing, so a listener only implements the events
+ * it needs. The members and teams are the live objects of the combat, so a listener that handles the
+ * events later must copy the values it needs before returning.
+ */
+public interface CombatListener {
+
+    /**
+     * Listener that ignores every event, used by the combats that nobody watches.
+     */
+    CombatListener SILENT = new CombatListener() {
+    };
+
+    /**
+     * Called when both teams are equipped, before the first round.
+     *
+     * @param seed  The seed of the random number generator of the combat.
+     * @param team1 The first team.
+     * @param team2 The second team.
+     */
+    default void onCombatStart(long seed, Team team1, Team team2) {
+    }
+
+    /**
+     * Called at the start of every round, once the defense of the previous turn is applied.
+     *
+     * @param round The number of the round, starting at 1.
+     * @param team1 The first team.
+     * @param team2 The second team.
+     */
+    default void onRoundStart(int round, Team team1, Team team2) {
+    }
+
+    /**
+     * Called when a member attacks, before the items of both members are degraded.
+     *
+     * @param attacker The member performing the attack.
+     * @param defender The member being attacked.
+     * @param attack   The attack value of the attacker.
+     * @param damage   The damage the defender receives.
+     */
+    default void onAttack(Member attacker, Member defender, double attack, double damage) {
+    }
+
+    /**
+     * Called when a member decides to defend in the next turn.
+     *
+     * @param member The defending member.
+     */
+    default void onDefend(Member member) {
+    }
+
+    /**
+     * Called after a member requests a random weapon.
+     *
+     * @param member The member, without weapon if none could be equipped.
+     */
+    default void onWeaponRequest(Member member) {
+    }
+
+    /**
+     * Called when an item breaks, before it is removed from the member.
+     *
+     * @param member The member that had the item equipped.
+     * @param item   The broken item.
+     */
+    default void onItemBreak(Member member, Item item) {
+    }
+
+    /**
+     * Called when a member is knocked out.
+     *
+     * @param member The knocked out member.
+     */
+    default void onKO(Member member) {
+    }
+
+    /**
+     * Called when one of the teams is defeated.
+     *
+     * @param winner The winning team, or null if it's a tie.
+     * @param team1  The first team.
+     * @param team2  The second team.
+     */
+    default void onCombatEnd(Team winner, Team team1, Team team2) {
+    }
+
+    /**
+     * Called when an error prevents part of the combat from being executed.
+     * By default the error is thrown again, so the combats that nobody watches are aborted.
+     *
+     * @param message The description of the operation that failed.
+     * @param e       The error.
+     * @throws PersistanceException The error, if the listener does not handle it.
+     */
+    default void onError(String message, PersistanceException e) throws PersistanceException {
+        throw e;
+    }
+}
@@ -2,98 +2,327 @@ package business;
 
 import business.entities.*;
 import persistance.exceptions.PersistanceException;
-import presentation.Controller;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Manages combat mechanics between two teams.
  * This class is responsible for handling combat initialization, execution of turns,
  * attack selection, damage calculation, and tracking KO (knockout) status.
+ * The events of the combats are published to a CombatListener, so nothing is formatted
+ * when nobody is watching the combat.
  */
 public class CombatManager {
 
+    //maximum rounds of a combat, a combat that reaches it without a defeated team is a tie.
+    //Teams that only defend, or that can't hurt each other, would fight forever otherwise.
+    //The ARRAY engine uses the same limit so both engines give the same results.
+    static final int MAX_ROUNDS = 1000;
+
     private ItemManager itemManager;
-    private Controller controller;
+    private CombatListener listener = CombatListener.SILENT;
     private TeamManager teamManager;
     private StatisticsManager statisticsManager;
+    private final RandomGenerator.SplittableGenerator random;
+
+    //damage table of the TABLE engine, built from the data files the first time it is needed
+    private volatile DamageTable damageTable;
 
     /**
-     * Constructs a CombatManager instance with required dependencies.
+     * Constructs a CombatManager instance with required dependencies and an unseeded random number generator.
      *
      * @param itemManager       Manages items such as weapons and armor.
      * @param teamManager       Manages teams and character assignments.
      * @param statisticsManager Manages combat statistics.
      */
     public CombatManager( ItemManager itemManager,TeamManager teamManager, StatisticsManager statisticsManager) {
+        this(itemManager, teamManager, statisticsManager, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a CombatManager instance with required dependencies and the given random number generator.
+     * Every interactive combat uses a new generator seeded from it, so a seeded generator makes them reproducible.
+     *
+     * @param itemManager       Manages items such as weapons and armor.
+     * @param teamManager       Manages teams and character assignments.
+     * @param statisticsManager Manages combat statistics.
+     * @param random            The random number generator of the combats.
+     */
+    public CombatManager(ItemManager itemManager, TeamManager teamManager, StatisticsManager statisticsManager,
+                         RandomGenerator.SplittableGenerator random) {
         this.itemManager = itemManager;
         this.teamManager = teamManager;
         this.statisticsManager = statisticsManager;
+        this.random = random;
     }
 
     /**
-     * Sets the controller for managing UI interactions.
+     * Sets the listener that receives the events of the combats started with combatStart.
      *
-     * @param controller The UI controller.
+     * @param listener The combat listener, or CombatListener.SILENT to ignore the events.
      */
-    public void setController(Controller controller) {
-        this.controller = controller;
+    public void setCombatListener(CombatListener listener) {
+        this.listener = listener;
     }
 
     /**
      * Starts a combat between two teams.
-     * Initializes teams, displays initial information, and executes combat.
+     * Initializes teams, publishes the initial information, and executes combat.
      *
      * @param team1 The first team.
      * @param team2 The second team.
      */
     public void combatStart(Team team1, Team team2) {
+        long seed = random.nextLong();
+        RandomGenerator fightRandom = new SplittableRandom(seed);
         try {
-            teamManager.initializeTeam(team1);
-            teamManager.initializeTeam(team2);
-
-            controller.displayTeamInitialization(team1, 1);
-            controller.displayTeamInitialization(team2, 2);
+            teamManager.initializeTeam(team1, fightRandom);
+            teamManager.initializeTeam(team2, fightRandom);
 
-            controller.displayEndRoundMessage();
+            listener.onCombatStart(seed, team1, team2);
 
-            executeCombat(team1, team2);
+            executeCombat(team1, team2, fightRandom);
         } catch (PersistanceException e) {
-            controller.displayMessage("Error initializing teams: " + e.getMessage());
+            listener.onError("Error initializing teams", e);
         }
     }
 
+    /**
+     * Simulates a number of combats between two teams without displaying anything.
+     * Every combat starts with the teams initialized again and the results are not recorded
+     * in the statistics, they are aggregated and returned instead.
+     * It can be called from several threads at the same time as long as each call uses its own teams
+     * and its own random number generator. Every combat uses a new stream split from the given one.
+     *
+     * The combats are executed with the ARRAY engine.
+     *
+     * @param team1          The first team.
+     * @param team2          The second team.
+     * @param numberOfFights The number of combats to simulate.
+     * @param random         The random number generator of the simulation.
+     * @return The aggregated results of all the simulated combats.
+     * @throws PersistanceException If an error occurs while equipping the members.
+     */
+    public SimulationResult simulateCombats(Team team1, Team team2, int numberOfFights,
+                                            RandomGenerator.SplittableGenerator random) throws PersistanceException {
+        return simulateCombats(team1, team2, numberOfFights, random, CombatEngine.ARRAY);
+    }
+
+    /**
+     * Simulates a number of combats between two teams without displaying anything, with the given engine.
+     * The OBJECT and ARRAY engines give the same results for the same random number generator. The TABLE engine
+     * reads the damage from a DamageTable of the items and characters files, refreshed before the combats.
+     *
+     * @param team1          The first team.
+     * @param team2          The second team.
+     * @param numberOfFights The number of combats to simulate.
+     * @param random         The random number generator of the simulation.
+     * @param engine         The engine that executes the combats.
+     * @return The aggregated results of all the simulated combats.
+     * @throws PersistanceException If an error occurs while equipping the members.
+     */
+    public SimulationResult simulateCombats(Team team1, Team team2, int numberOfFights,
+                                            RandomGenerator.SplittableGenerator random, CombatEngine engine) throws PersistanceException {
+        SimulationResult result = new SimulationResult(team1.getName(), team2.getName(),
+                team1.getMembers().size(), team2.getMembers().size());
+
+        if (engine != CombatEngine.OBJECT) {
+            CombatKernel kernel = new CombatKernel(itemManager, team1, team2,
+                    engine == CombatEngine.TABLE ? getDamageTable() : null);
+
+            for (int i = 0; i < numberOfFights; i++) {
+                int rounds = kernel.fight(random.split());
+
+                int winner = 0;
+                if (kernel.isTeamDefeated(1) != kernel.isTeamDefeated(2)) {
+                    winner = kernel.isTeamDefeated(1) ? 2 : 1;
+                }
+
+                result.recordFight(winner, rounds, kernel.numberOfKO(1), kernel.numberOfKO(2));
+            }
+            return result;
+        }
+
+        for (int i = 0; i < numberOfFights; i++) {
+            RandomGenerator fightRandom = random.split();
+            teamManager.initializeTeam(team1, fightRandom);
+            teamManager.initializeTeam(team2, fightRandom);
+
+            int rounds = fight(team1, team2, fightRandom, CombatListener.SILENT);
+
+            boolean team1Defeated = teamManager.isTeamDefeated(team1);
+            boolean team2Defeated = teamManager.isTeamDefeated(team2);
+
+            int winner = 0;
+            if (team1Defeated != team2Defeated) {
+                winner = team1Defeated ? 2 : 1;
+            }
+
+            result.recordFight(winner, rounds, numberOfKO(team1.getMembers()), numberOfKO(team2.getMembers()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the damage table of the TABLE engine, building it the first time it is needed
+     * and rebuilding the parts whose file changed since then.
+     *
+     * @return The refreshed damage table.
+     * @throws PersistanceException If the items or characters file cannot be read.
+     */
+    private DamageTable getDamageTable() throws PersistanceException {
+        DamageTable loaded = damageTable;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = damageTable;
+                if (loaded == null) {
+                    loaded = new DamageTable();
+                    damageTable = loaded;
+                    return loaded;
+                }
+            }
+        }
+        loaded.refresh();
+        return loaded;
+    }
+
+    /**
+     * Estimates the win, tie and loss probabilities of a matchup, simulating combats in parallel in the
+     * common fork-join pool until the 95% confidence interval of every probability is narrower than epsilon.
+     *
+     * @param team1     The first team, it is copied before fighting.
+     * @param team2     The second team, it is copied before fighting.
+     * @param epsilon   The maximum half-width of the confidence interval of every probability.
+     * @param maxFights The maximum number of combats to simulate if the precision is not reached.
+     * @param seed      The seed of the random number generator of the simulation.
+     * @return The estimated probabilities and expected rounds of the matchup.
+     * @throws PersistanceException If an error occurs while equipping the members.
+     */
+    public MatchupEstimate analyzeMatchup(Team team1, Team team2, double epsilon, int maxFights, long seed) throws PersistanceException {
+        return new MatchupAnalyzer(this).analyze(team1, team2, epsilon, maxFights, seed);
+    }
+
+    /**
+     * Simulates a number of combats between two teams, publishing the events of every combat to the listener.
+     * Every combat uses a new generator seeded with a seed drawn from the given one, and the seed is published
+     * with the start of the combat, so any combat can be executed again with runSeededCombat.
+     * The combats are executed with the OBJECT engine, since the ARRAY engine does not publish events.
+     *
+     * @param team1          The first team.
+     * @param team2          The second team.
+     * @param numberOfFights The number of combats to simulate.
+     * @param random         The random number generator the seeds are drawn from.
+     * @param listener       The listener of the events of the combats.
+     * @return The aggregated results of all the simulated combats.
+     * @throws PersistanceException If an error occurs while equipping the members.
+     */
+    public SimulationResult simulateCombats(Team team1, Team team2, int numberOfFights, RandomGenerator random,
+                                            CombatListener listener) throws PersistanceException {
+        SimulationResult result = new SimulationResult(team1.getName(), team2.getName(),
+                team1.getMembers().size(), team2.getMembers().size());
+
+        for (int i = 0; i < numberOfFights; i++) {
+            int rounds = runSeededCombat(team1, team2, random.nextLong(), listener);
+
+            Team winner = winnerOf(team1, team2);
+            int winnerNumber = winner == null ? 0 : (winner == team1 ? 1 : 2);
+
+            result.recordFight(winnerNumber, rounds, numberOfKO(team1.getMembers()), numberOfKO(team2.getMembers()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Executes a combat with a random number generator seeded with the given seed, without recording it
+     * in the statistics. The same teams, items and seed always give the same combat, so it is used both to
+     * record combats and to replay them.
+     *
+     * @param team1    The first team.
+     * @param team2    The second team.
+     * @param seed     The seed of the random number generator of the combat.
+     * @param listener The listener of the events of the combat.
+     * @return The number of rounds played.
+     * @throws PersistanceException If an error occurs while equipping the members.
+     */
+    public int runSeededCombat(Team team1, Team team2, long seed, CombatListener listener) throws PersistanceException {
+        RandomGenerator fightRandom = new SplittableRandom(seed);
+        teamManager.initializeTeam(team1, fightRandom);
+        teamManager.initializeTeam(team2, fightRandom);
+
+        listener.onCombatStart(seed, team1, team2);
+        int rounds = fight(team1, team2, fightRandom, listener);
+        listener.onCombatEnd(winnerOf(team1, team2), team1, team2);
+
+        return rounds;
+    }
+
     /**
      * Executes the combat between two teams until one is defeated.
      *
      * @param team1 The first team
      * @param team2 The second team
+     * @param random The random number generator of the combat
+     */
+    private void executeCombat(Team team1, Team team2, RandomGenerator random) {
+        fight(team1, team2, random, listener);
+
+        Team winner = winnerOf(team1, team2);
+        listener.onCombatEnd(winner, team1, team2); // NULL indicates a tie
+
+
+        int koTeam1 = numberOfKO(team1.getMembers());
+        int koTeam2 = numberOfKO(team2.getMembers());
+
+        String winnerName = "";
+        if (winner != null) {
+             winnerName = winner.getName();
+        }
+
+        try {
+            statisticsManager.recordCombatResult(team1.getName(), team2.getName(), koTeam1, koTeam2, winnerName);
+        } catch (PersistanceException e) {
+            listener.onError("Error recording combat statistics", e);
+        }
+    }
+
+    /**
+     * Performs rounds until one of the teams is defeated, or until MAX_ROUNDS rounds are played.
+     *
+     * @param team1   The first team
+     * @param team2   The second team
+     * @param random   The random number generator of the combat
+     * @param listener The listener of the events of the combat
+     * @return The number of rounds played
      */
-    private void executeCombat(Team team1, Team team2) {
+    private int fight(Team team1, Team team2, RandomGenerator random, CombatListener listener) {
         int round = 1;
 
-        // Perform rounds until one team is defeated
-        while (!teamManager.isTeamDefeated(team1) && !teamManager.isTeamDefeated(team2)) {
-            controller.displayRoundMessage(round);
+        //members of each team that can be attacked
+        TargetIndex targets1 = new TargetIndex(team1.getMembers().size());
+        TargetIndex targets2 = new TargetIndex(team2.getMembers().size());
 
+        // Perform rounds until one team is defeated
+        while (targets1.aliveCount() > 0 && targets2.aliveCount() > 0 && round <= MAX_ROUNDS) {
             //applying defense from the previous turn
             team1.applyDefending();
             team2.applyDefending();
 
-            //display the stats in the start of a new round
-            controller.displayTeamStats(team1, 1);
-            controller.displayTeamStats(team2, 2);
+            listener.onRoundStart(round, team1, team2);
 
             //execute the turns of each team
-            executeTurn(team1, team2);
-            executeTurn(team2, team1);
+            executeTurn(team1, team2, targets2, random, listener);
+            executeTurn(team2, team1, targets1, random, listener);
 
             team1.applyAccumulatedDamage();
             team2.applyAccumulatedDamage();
+            updateTargets(team1, targets1);
+            updateTargets(team2, targets2);
 
-            KOChecking(team1, team2);
+            KOChecking(team1, team2, targets1, targets2, random, listener);
 
             //reset the defending characters after turn ends
             team1.resetDefenseAfterTurn();
@@ -102,32 +331,24 @@ public class CombatManager {
             round++;
         }
 
-        // Step 1: Check if both teams are KO (Tie Condition)
+        return round - 1;
+    }
+
+    /**
+     * Finds the winner of a finished combat.
+     *
+     * @param team1 The first team
+     * @param team2 The second team
+     * @return The team that is not defeated, or null if both teams are KO or none is after MAX_ROUNDS rounds (Tie Condition)
+     */
+    private Team winnerOf(Team team1, Team team2) {
         boolean team1Defeated = teamManager.isTeamDefeated(team1);
         boolean team2Defeated = teamManager.isTeamDefeated(team2);
 
-        Team winner = null;
-        if (team1Defeated && team2Defeated) {
-            controller.displayCombatResult(null, team1, team2); // NULL indicates a tie
-        } else {
-            winner = team1Defeated ? team2 : team1;
-            controller.displayCombatResult(winner, team1, team2);
-        }
-
-
-        int koTeam1 = numberOfKO(team1.getMembers());
-        int koTeam2 = numberOfKO(team2.getMembers());
-
-        String winnerName = "";
-        if (winner != null) {
-             winnerName = winner.getName();
-        }
-
-        try {
-            statisticsManager.recordCombatResult(team1.getName(), team2.getName(), koTeam1, koTeam2, winnerName);
-        } catch (PersistanceException e) {
-            controller.displayMessage("Error recording combat statistics: " + e.getMessage());
+        if (team1Defeated == team2Defeated) {
+            return null;
         }
+        return team1Defeated ? team2 : team1;
     }
 
     /**
@@ -152,8 +373,11 @@ public class CombatManager {
      *
      * @param attackingTeam The team taking the turn
      * @param defendingTeam The team being attacked
+     * @param targets       The index of the members of the defending team that can be attacked
+     * @param random        The random number generator of the combat
+     * @param listener      The listener of the events of the combat
      */
-    private void executeTurn(Team attackingTeam, Team defendingTeam) {
+    private void executeTurn(Team attackingTeam, Team defendingTeam, TargetIndex targets, RandomGenerator random, CombatListener listener) {
         for (Member attacker : attackingTeam.getMembers()) {
             if (attacker.isKO()) {
                 continue;
@@ -164,87 +388,54 @@ public class CombatManager {
 
             switch (action) {
                 case REQUEST_WEAPON:
-                    requestWeapon(attacker);
-                    if (attacker.getWeapon() != null) {
-                        controller.displayMessage("\n" + attacker.getName() + " picks " + attacker.getWeaponName() + " as a random weapon!\n");
-                    } else {
-                        controller.displayMessage("\n" + attacker.getName() + " couldn't pick a weapon!\n");
-                    }
+                    requestWeapon(attacker, random, listener);
+                    listener.onWeaponRequest(attacker);
                     break;
                 case DEFEND:
                     attacker.defendNextTurn();
-                    controller.displayMessage("\n" + attacker.getName() + " will defend in the next turn.\n");
+                    listener.onDefend(attacker);
                     break;
                 case ATTACK:
-                    Member target;
-                    if (attacker.getStrategy() instanceof SniperStrategy) {
-                        target = selectTargetWithMostDamage(defendingTeam);
-                    } else {
-                        target = selectTarget(defendingTeam);
-                    }
-                    if (target != null) {
-                        performAttack(attacker, target);
+                    int target = switch (strategy.getTargetPolicy()) {
+                        case MOST_DAMAGED -> targets.mostDamaged();
+                        case RANDOM -> targets.randomAlive(random);
+                    };
+                    if (target >= 0) {
+                        performAttack(attacker, defendingTeam.getMembers().get(target), listener);
                     }
                     break;
             }
         }
     }
 
-    /**
-     * Selects a target with the most damage taken (used by SniperStrategy).
-     *
-     * @param defendingTeam The team to select a target from
-     * @return The member with the most damage taken, or null if no valid targets
-     */
-    private Member selectTargetWithMostDamage(Team defendingTeam) {
-        Member targetWithMostDamage = null;
-        double maxDamage = -1;
-
-        for (Member member : defendingTeam.getMembers()) {
-            if (!member.isKO() && member.getDamageTaken() > maxDamage) {
-                maxDamage = member.getDamageTaken();
-                targetWithMostDamage = member;
-            }
-        }
-
-        return targetWithMostDamage;
-    }
-
     /**
      * Requests a random weapon for a member.
      *
-     * @param member The member to equip with a weapon
+     * @param member   The member to equip with a weapon
+     * @param random   The random number generator used to select the weapon
+     * @param listener The listener that handles the errors
      */
-    private void requestWeapon(Member member) {
+    private void requestWeapon(Member member, RandomGenerator random, CombatListener listener) {
         try {
-            itemManager.assignRandomWeapon(member);
+            itemManager.assignRandomWeapon(member, random);
 
         } catch (PersistanceException e) {
-            controller.displayMessage("Error equipping weapon: " + e.getMessage());
+            listener.onError("Error equipping weapon", e);
         }
 
     }
 
     /**
-     * Selects a random target from the defending team.
+     * Updates the damage of the members of a team in its target index, after the accumulated damage is applied.
      *
-     * @param defendingTeam The team to select a target from
-     * @return A random non-KO member, or null if no valid targets
+     * @param team    The team whose damage was applied
+     * @param targets The index of the members of the team that can be attacked
      */
-    private Member selectTarget(Team defendingTeam) {
-        List<Member> availableDefenders = new ArrayList<>();
-
-        for (Member member : defendingTeam.getMembers()) {
-            if (!member.isKO()) {
-                availableDefenders.add(member);
-            }
+    private void updateTargets(Team team, TargetIndex targets) {
+        List<Member> members = team.getMembers();
+        for (int i = 0; i < members.size(); i++) {
+            targets.setDamage(i, members.get(i).getDamageTaken());
         }
-
-        if (availableDefenders.isEmpty()) return null;
-
-        Random random = new Random();
-        int index = random.nextInt(availableDefenders.size());
-        return availableDefenders.get(index);
     }
 
     /**
@@ -252,21 +443,19 @@ public class CombatManager {
      *
      * @param attacker The member performing the attack
      * @param defender The member being attacked
+     * @param listener The listener of the events of the combat
      */
-    private void performAttack(Member attacker, Member defender) {
+    private void performAttack(Member attacker, Member defender, CombatListener listener) {
         // Calculate attack and defense values
         double attackDamage = attacker.calculateAttack();
         double finalDamage = defender.calculateFinalDamage(attackDamage);
 
-        String weaponName = attacker.getWeapon() != null ? attacker.getWeaponName() : "no Weapon (Bare hands)";
-
-
-        controller.displayExecutionTurn(attacker.getName(), attackDamage, weaponName,finalDamage, defender.getName());
+        listener.onAttack(attacker, defender, attackDamage, finalDamage);
 
         //Store the damage
         defender.accumulateDamage(finalDamage);
 
-        degradeEquipment(attacker, defender);
+        degradeEquipment(attacker, defender, listener);
     }
 
     /**
@@ -274,29 +463,28 @@ public class CombatManager {
      *
      * @param attacker The member who performed the attack
      * @param defender The member who was attacked
+     * @param listener The listener of the events of the combat
      */
-    private void degradeEquipment(Member attacker, Member defender) {
+    private void degradeEquipment(Member attacker, Member defender, CombatListener listener) {
         //Reduce attacker's weapon durability
-        Weapon weapon = attacker.getWeapon();
-        Armor armor = defender.getArmor();
-        if (weapon != null) {
+        if (attacker.getWeapon() != null) {
 
             //reduce the durability by 1 because it has been used
-            weapon.reduceDurability();
+            attacker.reduceWeaponDurability();
 
-            if (weapon.isBroken()) {
-                controller.displayItemDurabilityBreak(attacker.getName(), attacker.getWeaponName());
+            if (attacker.isWeaponBroken()) {
+                listener.onItemBreak(attacker, attacker.getWeapon());
                 attacker.equipWeapon(null); // Remove broken weapon
             }
         }
 
         //Reduce defender's armor durability
-        if (armor != null) {
+        if (defender.getArmor() != null) {
             //reduce the durability of the armor by 1
-            armor.reduceDurability();
+            defender.reduceArmorDurability();
 
-            if (armor.isBroken()) {
-                controller.displayItemDurabilityBreak(defender.getName(), defender.getArmorName());
+            if (defender.isArmorBroken()) {
+                listener.onItemBreak(defender, defender.getArmor());
                 defender.equipArmor(null); // Remove broken armor
             }
         }
@@ -307,16 +495,25 @@ public class CombatManager {
      *
      * @param team1 The first team to check
      * @param team2 The second team to check
+     * @param targets1 The index of the members of the first team that can be attacked
+     * @param targets2 The index of the members of the second team that can be attacked
+     * @param random The random number generator for the KO calculation
+     * @param listener The listener of the events of the combat
      */
-    private void KOChecking(Team team1, Team team2) {
-        Random random = new Random();
-
-        for (Member member : team1.getMembers()) {
-            checkForKO(member, random);
+    private void KOChecking(Team team1, Team team2, TargetIndex targets1, TargetIndex targets2,
+                            RandomGenerator random, CombatListener listener) {
+        List<Member> members1 = team1.getMembers();
+        for (int i = 0; i < members1.size(); i++) {
+            if (checkForKO(members1.get(i), random, listener)) {
+                targets1.knockOut(i);
+            }
         }
 
-        for(Member member : team2.getMembers()) {
-            checkForKO(member, random);
+        List<Member> members2 = team2.getMembers();
+        for (int i = 0; i < members2.size(); i++) {
+            if (checkForKO(members2.get(i), random, listener)) {
+                targets2.knockOut(i);
+            }
         }
     }
 
@@ -325,8 +522,10 @@ public class CombatManager {
      *
      * @param member The member to check for KO
      * @param random Random number generator for KO calculation
+     * @param listener The listener of the events of the combat
+     * @return true if the member is knocked out by this check, false otherwise
      */
-    private void checkForKO(Member member, Random random) {
+    private boolean checkForKO(Member member, RandomGenerator random, CombatListener listener) {
         if (!member.isKO()) {
             double damageTaken = member.getDamageTaken();
 
@@ -336,10 +535,12 @@ public class CombatManager {
 
                 if (knockOutValue < damageTaken) {
                     member.setKO(true);
-                    controller.displayKOMember(member.getName());
+                    listener.onKO(member);
+                    return true;
                 }
             }
         }
+        return false;
     }
 
 }
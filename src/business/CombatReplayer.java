@@ -0,0 +1,85 @@
+package business;
+
+import business.entities.CombatReplay;
+import business.entities.Team;
+import persistance.binary.CombatReplayReader;
+import persistance.binary.CombatReplayWriter;
+import persistance.exceptions.PersistanceException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays the combats recorded in a replay file and checks that they give the same result.
+ * Every combat is executed again from its recorded seed and its events are recorded again, so the
+ * combat is reproduced only if every action, target, damage, KO and its final state are the same.
+ * The stored teams and items must be the same ones the combats were recorded with.
+ */
+public class CombatReplayer {
+
+    private final TeamManager teamManager;
+    private final CombatManager combatManager;
+
+    /**
+     * Constructs a CombatReplayer.
+     *
+     * @param teamManager   Manages the teams of the recorded combats.
+     * @param combatManager Executes the combats again.
+     */
+    public CombatReplayer(TeamManager teamManager, CombatManager combatManager) {
+        this.teamManager = teamManager;
+        this.combatManager = combatManager;
+    }
+
+    /**
+     * Replays all the combats of a replay file.
+     *
+     * @param path The path of the replay file.
+     * @return The combats that are not reproduced, empty if all of them are.
+     * @throws PersistanceException If an error occurs while reading the file, loading the teams or equipping the members.
+     */
+    public List<CombatReplay> replayAll(String path) throws PersistanceException {
+        Map<String, Team> teams = new HashMap<>();
+        for (Team team : teamManager.loadTeams()) {
+            teams.put(team.getName(), team);
+        }
+
+        List<CombatReplay> mismatches = new ArrayList<>();
+        try (CombatReplayReader reader = new CombatReplayReader(path)) {
+            CombatReplay combat;
+            while ((combat = reader.next()) != null) {
+                Team team1 = teams.get(combat.getTeam1());
+                Team team2 = teams.get(combat.getTeam2());
+
+                if (team1 == null || team2 == null || !replay(combat, team1, team2)) {
+                    mismatches.add(combat);
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * Replays a single combat with the given teams.
+     *
+     * @param combat The recorded combat.
+     * @param team1  The first team of the combat, it is copied so it is not modified.
+     * @param team2  The second team of the combat, it is copied so it is not modified.
+     * @return true if the combat is reproduced, false otherwise.
+     * @throws PersistanceException If an error occurs while equipping the members.
+     */
+    public boolean replay(CombatReplay combat, Team team1, Team team2) throws PersistanceException {
+        ByteArrayOutputStream events = new ByteArrayOutputStream(combat.getEvents().length);
+
+        try (CombatReplayWriter writer = new CombatReplayWriter(Channels.newChannel(events))) {
+            combatManager.runSeededCombat(new Team(team1), new Team(team2), combat.getSeed(), writer);
+        }
+
+        return Arrays.equals(events.toByteArray(), combat.getEvents());
+    }
+}
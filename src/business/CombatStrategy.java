@@ -35,6 +35,28 @@ public abstract class CombatStrategy {
      * @param attacker The member whose turn it is to perform
      * @return CombatAction of the attack
      */
-    public abstract CombatAction decideAction(Member attacker);
+    public CombatAction decideAction(Member attacker) {
+        return decideAction(attacker.getWeapon() != null, attacker.getArmor() != null, attacker.getDamageTaken());
+    }
+
+    /**
+     * Decides the combat action to be taken from the state of a member, so it can be used
+     * by combats that do not keep the members as objects.
+     *
+     * @param hasWeapon   Whether the member has a weapon equipped
+     * @param hasArmor    Whether the member has an armor equipped
+     * @param damageTaken The damage taken by the member
+     * @return CombatAction of the attack
+     */
+    public abstract CombatAction decideAction(boolean hasWeapon, boolean hasArmor, double damageTaken);
+
+    /**
+     * Returns how a member with this strategy selects the member it attacks.
+     *
+     * @return TargetPolicy.RANDOM, unless the strategy overrides it.
+     */
+    public TargetPolicy getTargetPolicy() {
+        return TargetPolicy.RANDOM;
+    }
 
 }
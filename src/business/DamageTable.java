@@ -0,0 +1,429 @@
+package business;
+
+import business.entities.Armor;
+import business.entities.Character;
+import business.entities.SuperArmor;
+import business.entities.SuperWeapon;
+import business.entities.Weapon;
+import persistance.ItemCatalog;
+import persistance.exceptions.PersistanceException;
+import persistance.json.CharacterJsonDAO;
+import persistance.json.ItemJsonDAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed damage of the combat formulas of Member at quantized damage levels.
+ * The final damage of an attack factors into an attack term, that only depends on the attacker, and a
+ * defense term, that only depends on the defender:
+ * <pre>
+ *     damage = max(0, attack(attacker weight, weapon, level) - defense(defender weight, armor, level, defending))
+ * </pre>
+ * so the table keeps one row of both terms for every character weight and one column of item terms for every
+ * item, instead of the whole cross product. The expected damage of an attack with the random items drawn by the
+ * combats is computed for a pair of weights the first time it is queried, over the sorted armor terms, and cached.
+ * The rows are built from characters.json and the columns from items.json, and refresh only rebuilds the part
+ * whose file changed: a new characters file adds the rows of the new weights and drops the unused ones, a new items
+ * file replaces the columns and the cached expected damages.
+ * The TABLE engine of CombatManager reads the attack and defense terms of the rows instead of computing the formulas.
+ */
+public class DamageTable {
+
+    private static final String ITEMS_PATH = "data/items.json";
+    private static final String CHARACTERS_PATH = "data/characters.json";
+
+    //number of quantized damage levels, from no damage to the highest damage a member can survive
+    public static final int LEVELS = 21;
+
+    //damage taken between two consecutive levels
+    public static final double LEVEL_STEP = 0.1;
+
+    private final String itemsPath;
+    private final String charactersPath;
+    private final CharacterJsonDAO characterDAO;
+
+    //last modification of the files the table was built from
+    private FileTime itemsModified;
+    private FileTime charactersModified;
+
+    //flat terms of the items, divided by the constants of the formulas, and whether they scale with the weight
+    private double[] weaponTerms = new double[0];
+    private boolean[] superWeapons = new boolean[0];
+    private double[] armorTerms = new double[0];
+    private boolean[] superArmors = new boolean[0];
+
+    //terms of every character weight
+    private final Map<Integer, WeightRow> rows = new HashMap<>();
+
+    //expected damages of every queried pair of weights, indexed by the attacker and defender weights
+    private final Map<Long, double[]> expectedDamages = new HashMap<>();
+
+    /**
+     * Constructs the table of the default items and characters files.
+     *
+     * @throws PersistanceException If a file cannot be read.
+     */
+    public DamageTable() throws PersistanceException {
+        this(ITEMS_PATH, CHARACTERS_PATH);
+    }
+
+    /**
+     * Constructs the table of the given items and characters files.
+     *
+     * @param itemsPath      The path of the items JSON file.
+     * @param charactersPath The path of the characters JSON file.
+     * @throws PersistanceException If a file cannot be read.
+     */
+    public DamageTable(String itemsPath, String charactersPath) throws PersistanceException {
+        this.itemsPath = itemsPath;
+        this.charactersPath = charactersPath;
+        this.characterDAO = new CharacterJsonDAO(charactersPath);
+        reload();
+    }
+
+    /**
+     * Converts the damage taken by a member to the nearest quantized level.
+     *
+     * @param damageTaken The damage taken by the member.
+     * @return The level, between 0 and LEVELS - 1.
+     */
+    public static int level(double damageTaken) {
+        int level = (int) Math.round(damageTaken / LEVEL_STEP);
+        return Math.max(0, Math.min(LEVELS - 1, level));
+    }
+
+    /**
+     * Rebuilds the parts of the table whose file was modified since they were built.
+     *
+     * @throws PersistanceException If a file cannot be read.
+     */
+    public synchronized void refresh() throws PersistanceException {
+        reload();
+    }
+
+    /**
+     * Rebuilds the parts of the table whose file was modified since they were built, or all of them the first time.
+     *
+     * @throws PersistanceException If a file cannot be read.
+     */
+    private void reload() throws PersistanceException {
+        FileTime itemsTime = lastModified(itemsPath);
+        if (!itemsTime.equals(itemsModified)) {
+            loadItems();
+            itemsModified = itemsTime;
+        }
+
+        FileTime charactersTime = lastModified(charactersPath);
+        if (!charactersTime.equals(charactersModified)) {
+            loadWeights();
+            charactersModified = charactersTime;
+        }
+    }
+
+    /**
+     * Computes the attack term of a member, the attack of Member.calculateAttack divided by 100.
+     *
+     * @param weight The weight of the attacker.
+     * @param weapon The equipped weapon, or null if there is none.
+     * @param level  The damage level of the attacker.
+     * @return The attack term.
+     */
+    public synchronized double attack(int weight, Weapon weapon, int level) {
+        double weaponTerm = weapon != null ? weapon.getEffectValue(weight) / 2000.0 : 0;
+        return row(weight).attack[level] + weaponTerm;
+    }
+
+    /**
+     * Computes the defense term of a member, the damage reduction of Member.calculateFinalDamage.
+     *
+     * @param weight    The weight of the defender.
+     * @param armor     The equipped armor, or null if there is none.
+     * @param level     The damage level of the defender.
+     * @param defending Whether the defender is defending.
+     * @return The defense term.
+     */
+    public synchronized double defense(int weight, Armor armor, int level, boolean defending) {
+        double armorTerm = armor != null ? armor.getEffectValue(weight) * 1.4 / 2000.0 : 0;
+        WeightRow row = row(weight);
+        return row.defense[level] + armorTerm + (defending ? row.defendBonus : 0);
+    }
+
+    /**
+     * Returns the attack terms without items of a weight at every damage level.
+     * The array is shared with the table and must not be modified.
+     *
+     * @param weight The weight of the attacker.
+     * @return The attack terms, indexed by damage level.
+     */
+    synchronized double[] attackTerms(int weight) {
+        return row(weight).attack;
+    }
+
+    /**
+     * Returns the defense terms without items of a weight at every damage level, without the defend bonus.
+     * The array is shared with the table and must not be modified.
+     *
+     * @param weight The weight of the defender.
+     * @return The defense terms, indexed by damage level.
+     */
+    synchronized double[] defenseTerms(int weight) {
+        return row(weight).defense;
+    }
+
+    /**
+     * Returns the damage reduction of a weight when it is defending.
+     *
+     * @param weight The weight of the defender.
+     * @return The defend bonus.
+     */
+    synchronized double defendBonus(int weight) {
+        return row(weight).defendBonus;
+    }
+
+    /**
+     * Computes the damage of an attack between two members with the given items.
+     *
+     * @param attackerWeight The weight of the attacker.
+     * @param weapon         The weapon of the attacker, or null if there is none.
+     * @param attackerLevel  The damage level of the attacker.
+     * @param defenderWeight The weight of the defender.
+     * @param armor          The armor of the defender, or null if there is none.
+     * @param defenderLevel  The damage level of the defender.
+     * @param defending      Whether the defender is defending.
+     * @return The final damage, never negative.
+     */
+    public synchronized double damage(int attackerWeight, Weapon weapon, int attackerLevel,
+                                      int defenderWeight, Armor armor, int defenderLevel, boolean defending) {
+        return Math.max(attack(attackerWeight, weapon, attackerLevel) - defense(defenderWeight, armor, defenderLevel, defending), 0);
+    }
+
+    /**
+     * Computes the expected damage of an attack between two members that equip a random weapon and armor of the
+     * catalog, as the combats do.
+     *
+     * @param attackerWeight The weight of the attacker.
+     * @param attackerLevel  The damage level of the attacker.
+     * @param defenderWeight The weight of the defender.
+     * @param defenderLevel  The damage level of the defender.
+     * @param defending      Whether the defender is defending.
+     * @return The expected final damage.
+     */
+    public synchronized double expectedDamage(int attackerWeight, int attackerLevel, int defenderWeight,
+                                              int defenderLevel, boolean defending) {
+        long key = ((long) attackerWeight << 32) | (defenderWeight & 0xFFFFFFFFL);
+        double[] block = expectedDamages.get(key);
+        if (block == null) {
+            block = computeExpectedDamages(row(attackerWeight), row(defenderWeight));
+            expectedDamages.put(key, block);
+        }
+        return block[(attackerLevel * LEVELS + defenderLevel) * 2 + (defending ? 1 : 0)];
+    }
+
+    /**
+     * Computes the expected damages of every pair of levels between two weights.
+     * For every weapon, the armors whose term is lower than the attack contribute with the sum of the
+     * differences, which is read from the prefix sums of the sorted armor terms.
+     *
+     * @param attacker The row of the attacker weight.
+     * @param defender The row of the defender weight.
+     * @return The expected damages, indexed by attacker level, defender level and defending.
+     */
+    private double[] computeExpectedDamages(WeightRow attacker, WeightRow defender) {
+        double[] weapons = attacker.weaponTerms;
+        double[] armors = defender.sortedArmorTerms;
+        double[] prefix = defender.armorPrefixSums;
+        double draws = (double) weapons.length * armors.length;
+
+        double[] block = new double[LEVELS * LEVELS * 2];
+        for (int attackerLevel = 0; attackerLevel < LEVELS; attackerLevel++) {
+            for (int defenderLevel = 0; defenderLevel < LEVELS; defenderLevel++) {
+                for (int defending = 0; defending < 2; defending++) {
+                    double base = attacker.attack[attackerLevel] - defender.defense[defenderLevel]
+                            - (defending == 1 ? defender.defendBonus : 0);
+
+                    double total = 0;
+                    for (double weaponTerm : weapons) {
+                        double attack = base + weaponTerm;
+                        int lower = lowerCount(armors, attack);
+                        total += lower * attack - prefix[lower];
+                    }
+                    block[(attackerLevel * LEVELS + defenderLevel) * 2 + defending] = total / draws;
+                }
+            }
+        }
+        return block;
+    }
+
+    /**
+     * Counts the values of a sorted array lower than a value.
+     *
+     * @param sorted The sorted values.
+     * @param value  The value to compare.
+     * @return The number of values lower than value.
+     */
+    private static int lowerCount(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the row of a weight, building it if the weight is not in the table.
+     *
+     * @param weight The weight of a character.
+     * @return The row of the weight.
+     */
+    private WeightRow row(int weight) {
+        WeightRow row = rows.get(weight);
+        if (row == null) {
+            row = new WeightRow(weight);
+            rows.put(weight, row);
+        }
+        return row;
+    }
+
+    /**
+     * Reads the items file into the item columns, and rebuilds the item terms of the rows.
+     * Every item of the file gets a column, also the ones whose name is repeated.
+     *
+     * @throws PersistanceException If the items file cannot be read.
+     */
+    private void loadItems() throws PersistanceException {
+        ItemCatalog catalog = new ItemJsonDAO(itemsPath).getCatalog();
+        List<Weapon> weapons = catalog.getWeapons();
+        List<Armor> armors = catalog.getArmors();
+
+        weaponTerms = new double[weapons.size()];
+        superWeapons = new boolean[weapons.size()];
+        for (int i = 0; i < weapons.size(); i++) {
+            superWeapons[i] = weapons.get(i) instanceof SuperWeapon;
+            weaponTerms[i] = weapons.get(i).getPower() / 2000.0;
+        }
+
+        armorTerms = new double[armors.size()];
+        superArmors = new boolean[armors.size()];
+        for (int i = 0; i < armors.size(); i++) {
+            superArmors[i] = armors.get(i) instanceof SuperArmor;
+            armorTerms[i] = armors.get(i).getPower() * 1.4 / 2000.0;
+        }
+
+        for (WeightRow row : rows.values()) {
+            row.buildItemTerms();
+        }
+        expectedDamages.clear();
+    }
+
+    /**
+     * Reads the characters file, adds the rows of the new weights and removes the rows of the weights that
+     * no character has anymore, with their expected damages.
+     *
+     * @throws PersistanceException If the characters file cannot be read.
+     */
+    private void loadWeights() throws PersistanceException {
+        Set<Integer> weights = new HashSet<>();
+        for (Character character : characterDAO.loadAllCharacters()) {
+            weights.add(character.getWeight());
+        }
+
+        rows.keySet().retainAll(weights);
+        expectedDamages.keySet().removeIf(key -> !weights.contains((int) (key >> 32)) || !weights.contains((int) (long) key));
+        for (int weight : weights) {
+            row(weight);
+        }
+    }
+
+    /**
+     * Returns the last modification of a file.
+     *
+     * @param path The path of the file.
+     * @return The last modification time.
+     * @throws PersistanceException If the file cannot be read.
+     */
+    private static FileTime lastModified(String path) throws PersistanceException {
+        try {
+            return Files.getLastModifiedTime(Path.of(path));
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't read file: " + path, e);
+        }
+    }
+
+    /**
+     * Terms of the formulas of a character weight at every damage level, with the terms of the items for that weight.
+     */
+    private class WeightRow {
+        private final int weight;
+
+        //attack and defense terms without items at every damage level
+        private final double[] attack = new double[LEVELS];
+        private final double[] defense = new double[LEVELS];
+
+        //damage reduction when defending
+        private final double defendBonus;
+
+        //weapon terms and sorted armor terms for this weight, with the prefix sums of the armor terms
+        private double[] weaponTerms;
+        private double[] sortedArmorTerms;
+        private double[] armorPrefixSums;
+
+        private WeightRow(int weight) {
+            this.weight = weight;
+            for (int level = 0; level < LEVELS; level++) {
+                double damageTaken = level * LEVEL_STEP;
+                attack[level] = (((weight * (1 - damageTaken)) / 10.0) + 18) / 100.0;
+                defense[level] = ((200 * (1 - damageTaken)) / weight) * 1.4 / 100.0;
+            }
+            this.defendBonus = weight / 400.0;
+            buildItemTerms();
+        }
+
+        /**
+         * Scales the item terms that depend on the weight and sorts the armor terms.
+         * An empty catalog counts as a single draw without item.
+         */
+        private void buildItemTerms() {
+            weaponTerms = scaledTerms(DamageTable.this.weaponTerms, superWeapons);
+            sortedArmorTerms = scaledTerms(armorTerms, superArmors);
+            Arrays.sort(sortedArmorTerms);
+
+            armorPrefixSums = new double[sortedArmorTerms.length + 1];
+            for (int i = 0; i < sortedArmorTerms.length; i++) {
+                armorPrefixSums[i + 1] = armorPrefixSums[i] + sortedArmorTerms[i];
+            }
+        }
+
+        /**
+         * Multiplies the terms of the super items by the weight.
+         *
+         * @param terms  The flat terms of the items.
+         * @param scaled Whether every item scales with the weight.
+         * @return The terms for this weight, a single zero term if there are no items.
+         */
+        private double[] scaledTerms(double[] terms, boolean[] scaled) {
+            if (terms.length == 0) {
+                return new double[]{0};
+            }
+            double[] result = new double[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                result[i] = scaled[i] ? terms[i] * weight : terms[i];
+            }
+            return result;
+        }
+    }
+}
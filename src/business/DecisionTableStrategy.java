@@ -0,0 +1,117 @@
+package business;
+
+import java.util.Arrays;
+
+/**
+ * Combat strategy declared as a decision table over the state of the member: whether it has a weapon,
+ * whether it has an armor and the bucket of its damage taken. The table is a flat array, so deciding an
+ * action is a single array access, and every member of a combat can share the same strategy class.
+ * The damage buckets are:
+ * <ul>
+ *     <li>0: less than 0.5</li>
+ *     <li>1: from 0.5 to less than 1.0</li>
+ *     <li>2: exactly 1.0</li>
+ *     <li>3: more than 1.0</li>
+ * </ul>
+ */
+public class DecisionTableStrategy extends CombatStrategy {
+
+    //number of damage buckets
+    public static final int BUCKETS = 4;
+
+    //number of entries of a decision table
+    public static final int SIZE = 2 * 2 * BUCKETS;
+
+    //damage taken of a member in every bucket, used to compile a strategy
+    private static final double[] BUCKET_SAMPLES = {0.0, 0.5, 1.0, 1.5};
+
+    //the action of every state, indexed by index(hasWeapon, hasArmor, bucket)
+    private final CombatAction[] table;
+
+    //how the member selects its target
+    private final TargetPolicy targetPolicy;
+
+    /**
+     * Constructs a strategy from its decision table.
+     *
+     * @param strategyName The name identifying the strategy.
+     * @param targetPolicy How the member selects its target.
+     * @param table        The action of every state, indexed by index(hasWeapon, hasArmor, bucket).
+     * @throws IllegalArgumentException If the table does not have SIZE actions.
+     */
+    public DecisionTableStrategy(String strategyName, TargetPolicy targetPolicy, CombatAction[] table) {
+        super(strategyName);
+        if (table.length != SIZE || Arrays.asList(table).contains(null)) {
+            throw new IllegalArgumentException("A decision table must have " + SIZE + " actions: " + strategyName);
+        }
+        this.targetPolicy = targetPolicy;
+        this.table = table.clone();
+    }
+
+    /**
+     * Compiles a strategy into a decision table, evaluating it once for every state.
+     * The result is the same strategy if its decisions only change at the bounds of the buckets,
+     * as all the built-in strategies do.
+     *
+     * @param strategy The strategy to compile.
+     * @return A decision table strategy with the name and target policy of the strategy.
+     */
+    public static DecisionTableStrategy compile(CombatStrategy strategy) {
+        CombatAction[] table = new CombatAction[SIZE];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            for (int state = 0; state < 4; state++) {
+                boolean hasWeapon = (state & 2) != 0;
+                boolean hasArmor = (state & 1) != 0;
+                table[index(hasWeapon, hasArmor, bucket)] = strategy.decideAction(hasWeapon, hasArmor, BUCKET_SAMPLES[bucket]);
+            }
+        }
+        return new DecisionTableStrategy(strategy.getStrategyName(), strategy.getTargetPolicy(), table);
+    }
+
+    /**
+     * Returns the position of a state in a decision table.
+     *
+     * @param hasWeapon Whether the member has a weapon equipped.
+     * @param hasArmor  Whether the member has an armor equipped.
+     * @param bucket    The bucket of the damage taken by the member.
+     * @return The index of the state.
+     */
+    public static int index(boolean hasWeapon, boolean hasArmor, int bucket) {
+        return ((hasWeapon ? 2 : 0) | (hasArmor ? 1 : 0)) * BUCKETS + bucket;
+    }
+
+    /**
+     * Returns the bucket of the damage taken by a member.
+     *
+     * @param damageTaken The damage taken by the member.
+     * @return The bucket, between 0 and BUCKETS - 1.
+     */
+    public static int bucket(double damageTaken) {
+        if (damageTaken < 0.5) return 0;
+        if (damageTaken < 1.0) return 1;
+        return damageTaken == 1.0 ? 2 : 3;
+    }
+
+    /**
+     * Decides the combat action by looking up the state of the member in the table.
+     *
+     * @param hasWeapon   Whether the member has a weapon equipped
+     * @param hasArmor    Whether the member has an armor equipped
+     * @param damageTaken The damage taken by the member
+     * @return The action of the state in the table
+     */
+    @Override
+    public CombatAction decideAction(boolean hasWeapon, boolean hasArmor, double damageTaken) {
+        return table[index(hasWeapon, hasArmor, bucket(damageTaken))];
+    }
+
+    /**
+     * Returns how the member selects its target.
+     *
+     * @return The target policy of the strategy.
+     */
+    @Override
+    public TargetPolicy getTargetPolicy() {
+        return targetPolicy;
+    }
+}
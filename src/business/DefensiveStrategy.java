@@ -1,7 +1,5 @@
 package business;
 
-import business.entities.Member;
-
 /**
  * Defensive combat strategy implementation.
  * This strategy prioritizes defense when the member has armor and low damage taken,
@@ -23,13 +21,15 @@ public class DefensiveStrategy extends CombatStrategy {
      * If the member has armor and has taken less than 1.0 damage, chooses to defend.
      * Otherwise, chooses to attack.
      *
-     * @param attacker The member whose turn it is to perform
+     * @param hasWeapon   Whether the member has a weapon equipped
+     * @param hasArmor    Whether the member has an armor equipped
+     * @param damageTaken The damage taken by the member
      * @return The chosen combat action (DEFEND or ATTACK)
      */
     @Override
-    public CombatAction decideAction(Member attacker) {
-        if (attacker.getArmor() != null) {
-            if (attacker.getDamageTaken() < 1.0) {
+    public CombatAction decideAction(boolean hasWeapon, boolean hasArmor, double damageTaken) {
+        if (hasArmor) {
+            if (damageTaken < 1.0) {
                 return CombatAction.DEFEND;
             } else {
                 return CombatAction.ATTACK;
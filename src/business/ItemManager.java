@@ -4,11 +4,14 @@ import business.entities.Armor;
 import business.entities.Item;
 import business.entities.Member;
 import business.entities.Weapon;
+import persistance.API.ApiStartupProbe;
 import persistance.API.ItemApiDAO;
 import persistance.ItemDAO;
+import persistance.binary.ItemBinaryDAO;
 import persistance.exceptions.PersistanceException;
 import persistance.json.ItemJsonDAO;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Manages item-related operations in the system.
@@ -19,17 +22,31 @@ public class ItemManager {
 
     /**
      * Constructor that initializes the ItemManager with the appropriate DAO.
-     * Attempts to use API persistence first, falls back to JSON if API is unavailable.
+     * Uses the API with the items downloaded by the startup probe if it is available, falls back to JSON otherwise.
+     * A large JSON file is read through the memory-mapped binary file converted from it.
+     *
+     * @param probe The results of the startup probe of the API.
      */
-    public ItemManager() {
+    public ItemManager(ApiStartupProbe probe) {
         try {
-            ItemApiDAO.validateUsage();
-            this.itemDAO = new ItemApiDAO();
+            if (!probe.isItemsAvailable()) {
+                throw new PersistanceException("Items API is not available");
+            }
+            this.itemDAO = new ItemApiDAO(probe.getItemsJson());
         } catch (PersistanceException e) {
-            this.itemDAO = new ItemJsonDAO();
+            this.itemDAO = ItemBinaryDAO.isLargeCatalog() ? new ItemBinaryDAO() : new ItemJsonDAO();
         }
     }
 
+    /**
+     * Constructor that initializes the ItemManager with the given DAO.
+     *
+     * @param itemDAO The DAO used to retrieve the items.
+     */
+    public ItemManager(ItemDAO itemDAO) {
+        this.itemDAO = itemDAO;
+    }
+
     /**
      * Validates the persistence source to ensure the data source is accessible.
      *
@@ -49,21 +66,23 @@ public class ItemManager {
     /**
      * Retrieves a random armor from the available items.
      *
+     * @param random The random number generator used to select the armor
      * @return A random Armor object
      * @throws PersistanceException if there's an error loading the armor
      */
-    public Armor getRandomArmor() throws PersistanceException {
-        return itemDAO.getRandomArmor();
+    public Armor getRandomArmor(RandomGenerator random) throws PersistanceException {
+        return itemDAO.getRandomArmor(random);
     }
 
     /**
      * Retrieves a random weapon from the available items.
      *
+     * @param random The random number generator used to select the weapon
      * @return A random Weapon object
      * @throws PersistanceException if there's an error loading the weapon
      */
-    public Weapon getRandomWeapon() throws PersistanceException {
-        return itemDAO.getRandomWeapon();
+    public Weapon getRandomWeapon(RandomGenerator random) throws PersistanceException {
+        return itemDAO.getRandomWeapon(random);
     }
 
     /**
@@ -91,20 +110,22 @@ public class ItemManager {
      * Equips a member with random weapon and armor.
      *
      * @param member The member to equip with items
+     * @param random The random number generator used to select the items
      * @throws PersistanceException if there's an error loading the items
      */
-    public void equipItemsMember(Member member) throws PersistanceException {
-        member.equipWeapon(getRandomWeapon());
-        member.equipArmor(getRandomArmor());
+    public void equipItemsMember(Member member, RandomGenerator random) throws PersistanceException {
+        member.equipWeapon(getRandomWeapon(random));
+        member.equipArmor(getRandomArmor(random));
     }
 
     /**
      * Assigns a random weapon to a member.
      *
      * @param member The member to equip with a weapon
+     * @param random The random number generator used to select the weapon
      * @throws PersistanceException if there's an error loading the weapon
      */
-    public void assignRandomWeapon(Member member) throws PersistanceException {
-        member.equipWeapon(getRandomWeapon());
+    public void assignRandomWeapon(Member member, RandomGenerator random) throws PersistanceException {
+        member.equipWeapon(getRandomWeapon(random));
     }
 }
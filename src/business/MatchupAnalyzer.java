@@ -0,0 +1,117 @@
+package business;
+
+import business.entities.MatchupEstimate;
+import business.entities.SimulationResult;
+import business.entities.Team;
+import persistance.exceptions.PersistanceException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Estimates the win, tie and loss probabilities of a matchup between two teams with Monte Carlo simulation.
+ * The combats are simulated in waves of batches that run in parallel, and the simulation stops as soon as
+ * the 95% confidence intervals of all the probabilities are narrower than the requested precision, so a
+ * clear-cut matchup needs far fewer combats than a balanced one.
+ * Every batch owns a random stream split from the seed in a fixed order, so an estimate only depends on
+ * its seed and the parallelism of the pool, not on how the batches are scheduled.
+ */
+public class MatchupAnalyzer {
+
+    //number of combats simulated by every batch of a wave
+    private static final int FIGHTS_PER_BATCH = 512;
+
+    //minimum number of combats before the confidence interval is trusted
+    private static final int MIN_FIGHTS = 2048;
+
+    //z value of a 95% confidence interval
+    private static final double Z_95 = 1.959964;
+
+    private final CombatManager combatManager;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a MatchupAnalyzer that runs the combats in the common fork-join pool.
+     *
+     * @param combatManager Manages the simulated combats.
+     */
+    public MatchupAnalyzer(CombatManager combatManager) {
+        this(combatManager, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a MatchupAnalyzer that runs the combats in the given pool.
+     *
+     * @param combatManager Manages the simulated combats.
+     * @param pool          The pool where the combats are executed.
+     */
+    public MatchupAnalyzer(CombatManager combatManager, ForkJoinPool pool) {
+        this.combatManager = combatManager;
+        this.pool = pool;
+    }
+
+    /**
+     * Estimates the outcome of a matchup, simulating combats until the precision is reached.
+     *
+     * @param team1     The first team, it is copied before fighting.
+     * @param team2     The second team, it is copied before fighting.
+     * @param epsilon   The maximum half-width of the 95% confidence interval of every probability.
+     * @param maxFights The maximum number of combats to simulate if the precision is not reached.
+     * @param seed      The seed of the random number generator of the simulation.
+     * @return The estimated probabilities and expected rounds of the matchup.
+     * @throws PersistanceException If an error occurs while equipping the members.
+     * @throws IllegalArgumentException If epsilon or maxFights are not positive.
+     */
+    public MatchupEstimate analyze(Team team1, Team team2, double epsilon, int maxFights, long seed) throws PersistanceException {
+        if (epsilon <= 0 || maxFights <= 0) {
+            throw new IllegalArgumentException("The precision and the maximum number of combats must be positive");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        SimulationResult total = new SimulationResult(team1.getName(), team2.getName(),
+                team1.getMembers().size(), team2.getMembers().size());
+        double halfWidth = Double.POSITIVE_INFINITY;
+
+        while (total.getFights() < maxFights) {
+            List<ForkJoinTask<SimulationResult>> wave = new ArrayList<>();
+            int remaining = maxFights - total.getFights();
+            for (int i = 0; i < pool.getParallelism() && remaining > 0; i++) {
+                int fights = Math.min(FIGHTS_PER_BATCH, remaining);
+                RandomGenerator.SplittableGenerator batchRandom = random.split();
+                wave.add(ForkJoinTask.adapt(() -> combatManager.simulateCombats(new Team(team1), new Team(team2), fights, batchRandom)));
+                remaining -= fights;
+            }
+
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(wave)));
+            for (ForkJoinTask<SimulationResult> batch : wave) {
+                total.merge(batch.join());
+            }
+
+            halfWidth = halfWidth(total);
+            if (total.getFights() >= MIN_FIGHTS && halfWidth <= epsilon) {
+                return new MatchupEstimate(total, halfWidth, true);
+            }
+        }
+
+        return new MatchupEstimate(total, halfWidth, halfWidth <= epsilon);
+    }
+
+    /**
+     * Computes the largest half-width of the 95% confidence intervals of the win, tie and loss probabilities,
+     * with the normal approximation of the binomial distribution.
+     *
+     * @param result The results of the combats simulated so far.
+     * @return The largest half-width.
+     */
+    private static double halfWidth(SimulationResult result) {
+        double widest = 0;
+        for (double p : new double[]{result.getTeam1WinRate(), result.getTieRate(), result.getTeam2WinRate()}) {
+            widest = Math.max(widest, Z_95 * Math.sqrt(p * (1 - p) / result.getFights()));
+        }
+        return widest;
+    }
+}
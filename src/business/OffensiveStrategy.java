@@ -1,7 +1,5 @@
 package business;
 
-import business.entities.Member;
-
 /**
  * Offensive combat strategy implementation.
  * This strategy prioritizes attack actions, requesting a weapon if none is available.
@@ -21,13 +19,15 @@ public class OffensiveStrategy extends CombatStrategy {
      * Decides the combat action based on offensive strategy logic.
      * If the member doesn't have a weapon, requests one. Otherwise, attacks.
      *
-     * @param attacker The member whose turn it is to perform
+     * @param hasWeapon   Whether the member has a weapon equipped
+     * @param hasArmor    Whether the member has an armor equipped
+     * @param damageTaken The damage taken by the member
      * @return The chosen combat action (REQUEST_WEAPON or ATTACK)
      */
     @Override
-    public CombatAction decideAction(Member attacker) {
+    public CombatAction decideAction(boolean hasWeapon, boolean hasArmor, double damageTaken) {
         //If attacker does not have a weapon, request it
-        if (attacker.getWeapon() == null ) {
+        if (!hasWeapon) {
             return CombatAction.REQUEST_WEAPON;
         }
         //else attack
@@ -1,10 +1,9 @@
 package business;
 
-import business.entities.Member;
-
 /**
  * Sniper combat strategy implementation.
- * This strategy always chooses to attack, representing a sniper's aggressive approach.
+ * This strategy always chooses to attack, representing a sniper's aggressive approach,
+ * and attacks the member with the most damage taken.
  */
 public class SniperStrategy extends CombatStrategy {
 
@@ -21,11 +20,23 @@ public class SniperStrategy extends CombatStrategy {
      * Decides the combat action based on sniper strategy logic.
      * Always chooses to attack, representing the sniper's aggressive nature.
      *
-     * @param attacker The member whose turn it is to perform
+     * @param hasWeapon   Whether the member has a weapon equipped
+     * @param hasArmor    Whether the member has an armor equipped
+     * @param damageTaken The damage taken by the member
      * @return The chosen combat action (always ATTACK)
      */
     @Override
-    public CombatAction decideAction(Member attacker) {
+    public CombatAction decideAction(boolean hasWeapon, boolean hasArmor, double damageTaken) {
         return CombatAction.ATTACK;
     }
+
+    /**
+     * Returns the target policy of the sniper, which attacks the member with the most damage taken.
+     *
+     * @return TargetPolicy.MOST_DAMAGED
+     */
+    @Override
+    public TargetPolicy getTargetPolicy() {
+        return TargetPolicy.MOST_DAMAGED;
+    }
 }
@@ -1,33 +1,75 @@
 package business;
 
+import business.entities.CombatResult;
 import business.entities.Statistics;
+import persistance.API.ApiStartupProbe;
 import persistance.API.StatisticsApiDAO;
 import persistance.StatisticsDAO;
 import persistance.exceptions.PersistanceException;
 import persistance.json.StatisticsJsonDAO;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Manages the statistics of teams, including validation of the persistence, combat results, and creation or delete.
+ * The statistics are kept in memory after the first load in a StatisticsRepository, the combats are appended
+ * to the persistence source in batches and the whole statistics are only saved periodically.
  */
 public class StatisticsManager {
 
+    //number of recorded combats after which the statistics are compacted into the persistence source
+    private static final int COMPACT_EVERY = 1000;
+
     private StatisticsDAO statisticsDAO;
 
+    //statistics of all the teams, loaded the first time they are needed
+    private volatile StatisticsRepository repository;
+
+    //combats recorded in the repository that are not appended to the persistence source yet
+    private final Queue<CombatResult> pendingResults = new ConcurrentLinkedQueue<>();
+
+    //held while appending or saving, it guards persisted and resultsSinceCompaction
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    //statistics as stored in the persistence source, indexed by the lower-case team name
+    private final Map<String, Statistics> persisted = new LinkedHashMap<>();
+
+    //number of combats appended since the statistics were last saved
+    private int resultsSinceCompaction;
+
     /**
      * Constructor that initializes the statistics manager with the appropriate DAO.
-     * Attempts to use API persistence first, falls back to JSON if API is unavailable.
+     * Uses the API with the statistics downloaded by the startup probe if it is available, falls back to JSON otherwise.
+     *
+     * @param probe The results of the startup probe of the API.
      */
-    public StatisticsManager() {
+    public StatisticsManager(ApiStartupProbe probe) {
         try {
-            StatisticsApiDAO.validateUsage();
-            this.statisticsDAO = new StatisticsApiDAO();
+            if (!probe.isStatisticsAvailable()) {
+                throw new PersistanceException("Statistics API is not available");
+            }
+            this.statisticsDAO = new StatisticsApiDAO(probe.getStatisticsJson());
         } catch (PersistanceException e) {
             this.statisticsDAO = new StatisticsJsonDAO();
         }
     }
 
+    /**
+     * Constructor that initializes the statistics manager with the given DAO.
+     *
+     * @param statisticsDAO The DAO used to store the statistics.
+     */
+    public StatisticsManager(StatisticsDAO statisticsDAO) {
+        this.statisticsDAO = statisticsDAO;
+    }
+
     /**
      * Validates the persistence layer by attempting to load statistics.
      *
@@ -36,7 +78,7 @@ public class StatisticsManager {
     public boolean validatePersistance() {
         try {
             // Try to load statistics to validate connectivity
-            List<Statistics> stats = statisticsDAO.loadStatistics();
+            StatisticsRepository stats = getRepository();
             return stats != null; // Allow empty list, as statistics might not exist yet
         } catch (PersistanceException e) {
             return false;
@@ -45,56 +87,31 @@ public class StatisticsManager {
 
     /**
      * Records the result of a combat between two teams.
+     * The counters in memory are updated without locking, and the result is queued to be appended to the
+     * persistence source. The thread that gets the flush lock appends all the queued results in one batch,
+     * so concurrent workers never wait for each other.
      *
      * @param Team1 The name of the first team
      * @param Team2 The name of the second team
-     * @param koTeam1 Number of KOs made by team 1
-     * @param koTeam2 Number of KOs made by team 2
+     * @param koTeam1 Number of members of team 1 that ended KO
+     * @param koTeam2 Number of members of team 2 that ended KO
      * @param winner The name of the winning team
      * @throws PersistanceException if there's an error saving the statistics
      */
     public void recordCombatResult(String Team1, String Team2, int koTeam1, int koTeam2, String winner) throws PersistanceException {
-        List<Statistics> statistics = statisticsDAO.loadStatistics();
-        
-        // Find or create statistics for Team1
-        Statistics stat1 = statistics.stream()
-                .filter(stat -> stat.getName().equalsIgnoreCase(Team1))
-                .findFirst()
-                .orElse(null);
-        
-        if (stat1 == null) {
-            stat1 = new Statistics(Team1);
-            statistics.add(stat1);
-        }
-        
-        // Find or create statistics for Team2
-        Statistics stat2 = statistics.stream()
-                .filter(stat -> stat.getName().equalsIgnoreCase(Team2))
-                .findFirst()
-                .orElse(null);
-        
-        if (stat2 == null) {
-            stat2 = new Statistics(Team2);
-            statistics.add(stat2);
-        }
-        
-        // Update Team1 statistics
-        stat1.incrementGamesPlayed();
-        if (winner.equalsIgnoreCase(Team1)) {
-            stat1.incrementGamesWon();
-        }
-        stat1.incrementKOMade(koTeam2);
-        stat1.incrementKOReceived(koTeam1);
-        
-        // Update Team2 statistics
-        stat2.incrementGamesPlayed();
-        if (winner.equalsIgnoreCase(Team2)) {
-            stat2.incrementGamesWon();
+        CombatResult result = new CombatResult(Team1, Team2, koTeam1, koTeam2, winner);
+
+        getRepository().record(result);
+        pendingResults.add(result);
+
+        // If another thread holds the lock it will also append this result before releasing it
+        while (!pendingResults.isEmpty() && flushLock.tryLock()) {
+            try {
+                drainPendingResults();
+            } finally {
+                flushLock.unlock();
+            }
         }
-        stat2.incrementKOMade(koTeam1);
-        stat2.incrementKOReceived(koTeam2);
-        
-        statisticsDAO.saveStatistics(statistics);
     }
 
     /**
@@ -105,11 +122,7 @@ public class StatisticsManager {
      * @throws PersistanceException if there's an error loading the statistics
      */
     public Statistics getStaticByName(String name) throws PersistanceException {
-        List<Statistics> statistics = statisticsDAO.loadStatistics();
-        
-        Statistics result = statistics.stream().filter(stat -> stat.getName().equalsIgnoreCase(name)).findFirst().orElse(null);
-        
-        return result;
+        return getRepository().get(name);
     }
 
     /**
@@ -120,14 +133,123 @@ public class StatisticsManager {
      * @throws PersistanceException if there's an error saving the statistics
      */
     public void createNewStats(String name, boolean add) throws PersistanceException {
-        List<Statistics> statistics = statisticsDAO.loadStatistics();
+        StatisticsRepository repository = getRepository();
 
-        statistics.removeIf(stat -> stat.getName().equalsIgnoreCase(name));
+        flushLock.lock();
+        try {
+            drainPendingResults();
+
+            persisted.remove(key(name));
+            repository.remove(name);
+
+            if (add) {
+                persisted.put(key(name), new Statistics(name));
+                repository.reset(name);
+            }
+
+            saveStatistics();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Saves the statistics to the persistence source, compacting the combats recorded since the last save.
+     *
+     * @throws PersistanceException if there's an error saving the statistics
+     */
+    public void compact() throws PersistanceException {
+        getRepository();
 
-        if (add) {
-            statistics.add(new Statistics(name));
+        flushLock.lock();
+        try {
+            drainPendingResults();
+            saveStatistics();
+        } finally {
+            flushLock.unlock();
         }
+    }
 
-        statisticsDAO.saveStatistics(statistics);
+    /**
+     * Appends all the queued results to the persistence source in one batch, compacting the statistics
+     * every COMPACT_EVERY combats. Must be called holding the flush lock.
+     * The results are only removed from the queue once they are appended, so a failed append keeps
+     * them queued for the next flush instead of losing them. Only the holder of the flush lock removes
+     * results and the other threads only add them at the end, so the head of the queue is the batch.
+     *
+     * @throws PersistanceException if there's an error saving the statistics
+     */
+    private void drainPendingResults() throws PersistanceException {
+        List<CombatResult> batch = new ArrayList<>(pendingResults);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        statisticsDAO.appendCombatResults(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            pendingResults.poll();
+        }
+        for (CombatResult appended : batch) {
+            appended.applyTo(persistedOf(appended.getTeam1()), persistedOf(appended.getTeam2()));
+        }
+
+        resultsSinceCompaction += batch.size();
+        if (resultsSinceCompaction >= COMPACT_EVERY) {
+            saveStatistics();
+        }
+    }
+
+    /**
+     * Saves the stored statistics, which include every appended result. Must be called holding the flush lock.
+     *
+     * @throws PersistanceException if there's an error saving the statistics
+     */
+    private void saveStatistics() throws PersistanceException {
+        statisticsDAO.saveStatistics(new ArrayList<>(persisted.values()));
+        resultsSinceCompaction = 0;
+    }
+
+    /**
+     * Retrieves the stored statistics of a team, creating them if needed. Must be called holding the flush lock.
+     *
+     * @param name The name of the team
+     * @return The stored statistics of the team
+     */
+    private Statistics persistedOf(String name) {
+        return persisted.computeIfAbsent(key(name), k -> new Statistics(name));
+    }
+
+    /**
+     * Returns the repository with the statistics in memory, loading them from the persistence source the first time.
+     *
+     * @return The repository with the statistics of all the teams
+     * @throws PersistanceException if there's an error loading the statistics
+     */
+    private StatisticsRepository getRepository() throws PersistanceException {
+        StatisticsRepository loaded = repository;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = repository;
+                if (loaded == null) {
+                    List<Statistics> statistics = statisticsDAO.loadStatistics();
+                    for (Statistics stat : statistics) {
+                        persisted.putIfAbsent(key(stat.getName()), stat);
+                    }
+                    loaded = new StatisticsRepository(statistics);
+                    repository = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Normalizes a team name so lookups ignore its case.
+     *
+     * @param name The name of the team
+     * @return The key of the team
+     */
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,143 @@
+package business;
+
+import business.entities.CombatResult;
+import business.entities.Statistics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory store of the statistics of all the teams, indexed by the lower-case team name.
+ * Every counter is a LongAdder, so many simulation workers can record combats at the same time
+ * without sharing a lock, and a team is found with a single hash lookup instead of a linear search.
+ */
+public class StatisticsRepository {
+
+    //counters of every team, indexed by the lower-case team name
+    private final ConcurrentMap<String, TeamCounters> countersByName = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a repository with the given statistics.
+     *
+     * @param statistics The initial statistics of the teams.
+     */
+    public StatisticsRepository(List<Statistics> statistics) {
+        for (Statistics stat : statistics) {
+            countersByName.putIfAbsent(key(stat.getName()), new TeamCounters(stat));
+        }
+    }
+
+    /**
+     * Adds the result of a combat to the counters of both teams, creating the counters of a team if needed.
+     *
+     * @param result The result of the combat.
+     */
+    public void record(CombatResult result) {
+        TeamCounters team1 = countersOf(result.getTeam1());
+        TeamCounters team2 = countersOf(result.getTeam2());
+
+        team1.record(result.getWinner().equalsIgnoreCase(result.getTeam1()), result.getKO_team2(), result.getKO_team1());
+        team2.record(result.getWinner().equalsIgnoreCase(result.getTeam2()), result.getKO_team1(), result.getKO_team2());
+    }
+
+    /**
+     * Retrieves the statistics of a team, ignoring the case of the name.
+     *
+     * @param name The name of the team.
+     * @return A snapshot of the statistics of the team, or null if the team has no statistics.
+     */
+    public Statistics get(String name) {
+        TeamCounters counters = countersByName.get(key(name));
+        return counters != null ? counters.toStatistics() : null;
+    }
+
+    /**
+     * Replaces the statistics of a team with empty ones.
+     *
+     * @param name The name of the team.
+     */
+    public void reset(String name) {
+        countersByName.put(key(name), new TeamCounters(new Statistics(name)));
+    }
+
+    /**
+     * Removes the statistics of a team, ignoring the case of the name.
+     *
+     * @param name The name of the team.
+     */
+    public void remove(String name) {
+        countersByName.remove(key(name));
+    }
+
+    /**
+     * Retrieves the counters of a team, creating them if the team has no statistics yet.
+     *
+     * @param name The name of the team.
+     * @return The counters of the team.
+     */
+    private TeamCounters countersOf(String name) {
+        return countersByName.computeIfAbsent(key(name), k -> new TeamCounters(new Statistics(name)));
+    }
+
+    /**
+     * Normalizes a team name so lookups ignore its case.
+     *
+     * @param name The name of the team.
+     * @return The key of the team.
+     */
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Counters of the statistics of a single team.
+     */
+    private static class TeamCounters {
+        private final String name;
+        private final LongAdder gamesPlayed = new LongAdder();
+        private final LongAdder gamesWon = new LongAdder();
+        private final LongAdder koDone = new LongAdder();
+        private final LongAdder koReceived = new LongAdder();
+
+        /**
+         * Constructs the counters from the stored statistics of a team.
+         *
+         * @param stat The statistics of the team.
+         */
+        private TeamCounters(Statistics stat) {
+            this.name = stat.getName();
+            gamesPlayed.add(stat.getGames_played());
+            gamesWon.add(stat.getGames_won());
+            koDone.add(stat.getKO_done());
+            koReceived.add(stat.getKO_received());
+        }
+
+        /**
+         * Adds one combat to the counters.
+         *
+         * @param won        Whether the team won the combat.
+         * @param koMade     The number of KOs made by the team.
+         * @param koReceived The number of KOs received by the team.
+         */
+        private void record(boolean won, int koMade, int koReceived) {
+            gamesPlayed.increment();
+            if (won) {
+                gamesWon.increment();
+            }
+            koDone.add(koMade);
+            this.koReceived.add(koReceived);
+        }
+
+        /**
+         * Builds a snapshot of the counters.
+         *
+         * @return The statistics of the team.
+         */
+        private Statistics toStatistics() {
+            return new Statistics(name, gamesPlayed.intValue(), gamesWon.intValue(), koDone.intValue(), koReceived.intValue());
+        }
+    }
+}
@@ -1,42 +1,122 @@
 package business;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+
 /**
- * Factory class for creating combat strategy instances.
- * Provides methods to create strategies by name or by type.
+ * Factory class for the combat strategy instances.
+ * Provides methods to get strategies by name or by type.
+ * Strategies are stateless, so the factory is a registry of shared instances: every member with the same
+ * strategy uses the same object, and loading a team does not allocate any strategy.
+ * The built-in strategies are compiled into decision tables, so the combats only call DecisionTableStrategy
+ * for them. Any other name is looked up in the strategies of the StrategyProvider plugins found by ServiceLoader.
  */
 public class StrategyFactory {
 
+    //shared instance of every built-in strategy
+    private static final Map<StrategyType, CombatStrategy> STRATEGIES = createBuiltInStrategies();
+
+    //strategies of the plugins indexed by their name ignoring case, loaded the first time a plugin strategy is needed
+    private static volatile Map<String, CombatStrategy> pluginStrategies;
+
     /**
-     * Creates a combat strategy based on the provided strategy name.
+     * Returns the shared combat strategy with the provided strategy name.
      *
      * @param name The name of the strategy (case-insensitive)
-     * @return A new CombatStrategy instance
+     * @return The shared CombatStrategy instance of a built-in strategy or of a plugin
      * @throws IllegalArgumentException if the strategy name is invalid
      */
     public static CombatStrategy createStrategyByName(String name) {
-        StrategyType type = switch (name.toLowerCase()) {
-            case "balanced"  -> StrategyType.BALANCED;
-            case "offensive" -> StrategyType.OFFENSIVE;
-            case "defensive" -> StrategyType.DEFENSIVE;
-            case "sniper"    -> StrategyType.SNIPER;
-            default -> throw new IllegalArgumentException("Invalid strategy: " + name);
-        };
-
-        return createStrategyByType(type);
+        CombatStrategy strategy = findBuiltIn(name);
+        if (strategy == null) {
+            strategy = getPluginStrategies().get(name);
+            if (strategy == null) {
+                throw new IllegalArgumentException("Invalid strategy: " + name);
+            }
+        }
+        return strategy;
     }
 
     /**
-     * Creates a combat strategy based on the provided strategy type.
+     * Returns the shared combat strategy of the provided strategy type.
      *
      * @param type The StrategyType enum value
-     * @return A new CombatStrategy instance
+     * @return The shared CombatStrategy instance
      */
     public static CombatStrategy createStrategyByType(StrategyType type) {
-        return switch (type) {
-            case BALANCED  -> new BalancedStrategy("balanced");
-            case OFFENSIVE -> new OffensiveStrategy("offensive");
-            case DEFENSIVE -> new DefensiveStrategy("defensive");
-            case SNIPER    -> new SniperStrategy("sniper");
-        };
+        return STRATEGIES.get(type);
+    }
+
+    /**
+     * Creates the shared instances of the built-in strategies, compiled into decision tables.
+     *
+     * @return The strategies indexed by their type.
+     */
+    private static Map<StrategyType, CombatStrategy> createBuiltInStrategies() {
+        Map<StrategyType, CombatStrategy> strategies = new EnumMap<>(StrategyType.class);
+        for (StrategyType type : StrategyType.values()) {
+            strategies.put(type, DecisionTableStrategy.compile(switch (type) {
+                case BALANCED  -> new BalancedStrategy("balanced");
+                case OFFENSIVE -> new OffensiveStrategy("offensive");
+                case DEFENSIVE -> new DefensiveStrategy("defensive");
+                case SNIPER    -> new SniperStrategy("sniper");
+            }));
+        }
+        return Collections.unmodifiableMap(strategies);
+    }
+
+    /**
+     * Finds the built-in strategy with a name, ignoring case without creating a lower-case copy of the name.
+     *
+     * @param name The name of the strategy.
+     * @return The shared strategy, or null if it is not the name of a built-in strategy.
+     */
+    private static CombatStrategy findBuiltIn(String name) {
+        for (CombatStrategy strategy : STRATEGIES.values()) {
+            if (strategy.getStrategyName().equalsIgnoreCase(name)) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the strategies of the plugins, loading the providers the first time they are needed.
+     *
+     * @return An unmodifiable map of the strategies indexed by their name ignoring case.
+     */
+    private static Map<String, CombatStrategy> getPluginStrategies() {
+        Map<String, CombatStrategy> loaded = pluginStrategies;
+        if (loaded == null) {
+            synchronized (StrategyFactory.class) {
+                loaded = pluginStrategies;
+                if (loaded == null) {
+                    loaded = loadPluginStrategies();
+                    pluginStrategies = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads the strategies of every StrategyProvider, skipping the names of the built-in strategies
+     * and the names of strategies already loaded.
+     *
+     * @return An unmodifiable map of the strategies indexed by their name ignoring case.
+     */
+    private static Map<String, CombatStrategy> loadPluginStrategies() {
+        Map<String, CombatStrategy> strategies = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (StrategyProvider provider : ServiceLoader.load(StrategyProvider.class)) {
+            for (CombatStrategy strategy : provider.getStrategies()) {
+                if (findBuiltIn(strategy.getStrategyName()) == null) {
+                    strategies.putIfAbsent(strategy.getStrategyName(), strategy);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(strategies);
     }
 }
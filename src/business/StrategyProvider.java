@@ -0,0 +1,20 @@
+package business;
+
+import java.util.List;
+
+/**
+ * Service provider interface for combat strategies that are not built into the game.
+ * Providers are loaded with ServiceLoader, so a plugin registers its implementation in a
+ * META-INF/services/business.StrategyProvider file of its own jar, and the jar is added to the classpath of the game.
+ * The strategies of a provider are shared by every member that uses them, so they must not keep any state.
+ */
+public interface StrategyProvider {
+
+    /**
+     * Returns the strategies of the provider, which are found by their strategy name ignoring case.
+     * A strategy with the name of a built-in strategy or of a strategy of a provider loaded before is ignored.
+     *
+     * @return The strategies of the provider.
+     */
+    List<CombatStrategy> getStrategies();
+}
@@ -0,0 +1,176 @@
+package business;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Index of the members of a team that can be attacked during a combat, by their position in the team.
+ * A bitset of the members that are not KO gives the n-th available member for a random target, and a
+ * tournament tree over the damage taken gives the available member with the most damage, the first one
+ * of the team if there is a tie. Both selections give the same member as scanning the team in order,
+ * without allocating anything, and the tree is updated in O(log n) when the damage of a member changes.
+ * An index keeps the state of its combat, so it must not be shared between threads.
+ */
+class TargetIndex {
+    //number of members of the team
+    private final int size;
+
+    //bit i is set while the member i is not KO
+    private final long[] alive;
+
+    //number of members that are not KO
+    private int aliveCount;
+
+    //damage taken by every member, negative infinity once it is KO
+    private final double[] damage;
+
+    //number of leaves of the tree, the lowest power of two not lower than size
+    private final int leaves;
+
+    //position of the winner of every node, the root is node 1 and the leaf of member i is node leaves + i, -1 for no member
+    private final int[] tree;
+
+    /**
+     * Constructs the index of a team with all its members available and without damage.
+     *
+     * @param size The number of members of the team.
+     */
+    TargetIndex(int size) {
+        this.size = size;
+        this.alive = new long[(size + 63) >>> 6];
+        this.damage = new double[size];
+
+        int leafCount = 1;
+        while (leafCount < size) {
+            leafCount <<= 1;
+        }
+        this.leaves = leafCount;
+        this.tree = new int[2 * leafCount];
+
+        reset();
+    }
+
+    /**
+     * Makes all the members available and without damage, for the beginning of a combat.
+     */
+    void reset() {
+        for (int word = 0; word < alive.length; word++) {
+            int bits = Math.min(64, size - (word << 6));
+            alive[word] = bits == 64 ? -1L : (1L << bits) - 1;
+        }
+        aliveCount = size;
+
+        for (int i = 0; i < leaves; i++) {
+            tree[leaves + i] = i < size ? i : -1;
+            if (i < size) {
+                damage[i] = 0;
+            }
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            tree[node] = winner(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Returns the number of members that are not KO.
+     *
+     * @return The number of available members.
+     */
+    int aliveCount() {
+        return aliveCount;
+    }
+
+    /**
+     * Updates the damage taken by an available member.
+     *
+     * @param member      The position of the member in the team.
+     * @param damageTaken The damage taken by the member.
+     */
+    void setDamage(int member, double damageTaken) {
+        if (damage[member] != damageTaken && isAlive(member)) {
+            damage[member] = damageTaken;
+            update(member);
+        }
+    }
+
+    /**
+     * Removes a member that is KO from the available members.
+     *
+     * @param member The position of the member in the team.
+     */
+    void knockOut(int member) {
+        if (isAlive(member)) {
+            alive[member >>> 6] &= ~(1L << member);
+            aliveCount--;
+            damage[member] = Double.NEGATIVE_INFINITY;
+            update(member);
+        }
+    }
+
+    /**
+     * Selects a random available member, drawing a single random number only if there is any.
+     *
+     * @param random The random number generator used to select the target.
+     * @return The position of the n-th available member of the team, or -1 if all the members are KO.
+     */
+    int randomAlive(RandomGenerator random) {
+        if (aliveCount == 0) return -1;
+
+        int remaining = random.nextInt(aliveCount);
+        for (int word = 0; word < alive.length; word++) {
+            long bits = alive[word];
+            int count = Long.bitCount(bits);
+            if (remaining < count) {
+                //clear the lowest set bits until the selected one is the lowest
+                for (int i = 0; i < remaining; i++) {
+                    bits &= bits - 1;
+                }
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            remaining -= count;
+        }
+        return -1;
+    }
+
+    /**
+     * Selects the available member with the most damage taken.
+     *
+     * @return The position of the first available member with the most damage, or -1 if all the members are KO.
+     */
+    int mostDamaged() {
+        return aliveCount > 0 ? tree[1] : -1;
+    }
+
+    /**
+     * Checks if a member is not KO.
+     *
+     * @param member The position of the member in the team.
+     * @return true if the member is available, false otherwise.
+     */
+    private boolean isAlive(int member) {
+        return (alive[member >>> 6] & (1L << member)) != 0;
+    }
+
+    /**
+     * Replays the matches of the tree from the leaf of a member to the root.
+     *
+     * @param member The position of the member whose damage changed.
+     */
+    private void update(int member) {
+        for (int node = (leaves + member) >>> 1; node >= 1; node >>>= 1) {
+            tree[node] = winner(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Returns the member with the most damage of two, the left one is always before the right one in the team.
+     *
+     * @param left  The position of the left member, or -1 if there is none.
+     * @param right The position of the right member, or -1 if there is none.
+     * @return The left member if its damage is not lower, the right member otherwise.
+     */
+    private int winner(int left, int right) {
+        if (right < 0) return left;
+        if (left < 0) return right;
+        return damage[left] >= damage[right] ? left : right;
+    }
+}
@@ -0,0 +1,16 @@
+package business;
+
+/**
+ * Enum representing how a member selects the member of the defending team it attacks.
+ */
+public enum TargetPolicy {
+    /**
+     * Attacks a random member that is not KO.
+     */
+    RANDOM,
+
+    /**
+     * Attacks the member that is not KO with the most damage taken, the first one of the team if there is a tie.
+     */
+    MOST_DAMAGED
+}
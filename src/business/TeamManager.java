@@ -1,36 +1,65 @@
 package business;
 
 import business.entities.*;
+import persistance.API.ApiStartupProbe;
+import persistance.API.CharacterApiDAO;
 import persistance.API.TeamApiDAO;
 import persistance.TeamDAO;
 import persistance.exceptions.PersistanceException;
 import persistance.json.TeamJsonDAO;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.random.RandomGenerator;
 
 /**
  * Manages team operations in the game.
+ * It keeps a reverse index from every character to the teams it is a member of, built from the
+ * stored teams the first time it is needed and updated when a team is added or deleted.
  */
 public class TeamManager {
 
     private TeamDAO teamDAO;
     private ItemManager itemManager;
 
+    //teams of every character, null until it is loaded
+    private volatile CharacterTeamIndex characterTeamIndex;
+
     /**
-     * Constructs a TeamManager with the specified ItemManager and validates API availability.
+     * Constructs a TeamManager with the specified ItemManager.
+     * Uses the API if the startup probe reached it, falls back to JSON otherwise. The members are
+     * resolved with the characters already downloaded by the probe when they are available.
      *
      * @param itemManager The ItemManager responsible for managing item assignments.
+     * @param probe       The results of the startup probe of the API.
      */
-    public TeamManager(ItemManager itemManager) {
+    public TeamManager(ItemManager itemManager, ApiStartupProbe probe) {
         try {
-            TeamApiDAO.validateUsage();
-            this.teamDAO = new TeamApiDAO();
+            if (!probe.isTeamsAvailable()) {
+                throw new PersistanceException("Teams API is not available");
+            }
+            CharacterApiDAO characterApiDAO = probe.isCharactersAvailable()
+                    ? new CharacterApiDAO(probe.getCharactersJson())
+                    : new CharacterApiDAO();
+            this.teamDAO = new TeamApiDAO(characterApiDAO);
         } catch (PersistanceException e) {
             this.teamDAO = new TeamJsonDAO();
         }
         this.itemManager = itemManager;
     }
 
+    /**
+     * Constructs a TeamManager with the specified ItemManager and DAO.
+     *
+     * @param itemManager The ItemManager responsible for managing item assignments.
+     * @param teamDAO     The DAO used to store the teams.
+     */
+    public TeamManager(ItemManager itemManager, TeamDAO teamDAO) {
+        this.teamDAO = teamDAO;
+        this.itemManager = itemManager;
+    }
+
     /**
      * Validates the existence of persistent team data.
      *
@@ -56,6 +85,11 @@ public class TeamManager {
     public int deleteTeam(String teamName) throws PersistanceException {
         if (teamDAO.exists(teamName)) {
             teamDAO.deleteTeam(teamName);
+
+            CharacterTeamIndex index = characterTeamIndex;
+            if (index != null) {
+                index.removeTeam(teamName);
+            }
             return 1;
         }
         return 0;
@@ -69,7 +103,7 @@ public class TeamManager {
      * @throws PersistanceException If an error occurs during the check.
      */
     public boolean teamExists(String teamName) throws PersistanceException {
-        return teamDAO.getTeamByName(teamName) != null;
+        return teamDAO.exists(teamName);
     }
 
     /**
@@ -80,32 +114,68 @@ public class TeamManager {
      */
     public void addTeam(Team newTeam) throws PersistanceException {
         teamDAO.saveNewTeams(newTeam);
+
+        CharacterTeamIndex index = characterTeamIndex;
+        if (index != null) {
+            index.addTeam(teamDAO.convertToTeamPrint(newTeam));
+        }
     }
 
     /**
-     * Retrieves the names of teams that include a character with the specified ID.
+     * Retrieves the names of teams that include a character with the specified ID, from the reverse index.
      *
      * @param characterId The ID of the character.
      * @return A list of team names that include the character.
-     * @throws PersistanceException If an error occurs during retrieval.
+     * @throws PersistanceException If an error occurs while loading the index.
      */
     public List<String> getTeamsNamesWithCharacter(long characterId) throws PersistanceException {
-        return teamDAO.getTeamsNamesWithCharacter(characterId);
+        return getCharacterTeamIndex().getTeamsWithCharacter(characterId);
     }
 
     /**
-     * Initializes a team by equipping weapons and armor to its members and resetting their damage.
+     * Returns the reverse index from characters to teams, building it from the stored teams the first time.
+     *
+     * @return The index of the teams of every character.
+     * @throws PersistanceException If an error occurs while loading the teams.
+     */
+    private CharacterTeamIndex getCharacterTeamIndex() throws PersistanceException {
+        CharacterTeamIndex loaded = characterTeamIndex;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = characterTeamIndex;
+                if (loaded == null) {
+                    loaded = new CharacterTeamIndex(teamDAO.loadTeamPrints());
+                    characterTeamIndex = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Initializes a team by equipping weapons and armor to its members and resetting their combat state.
      *
      * @param team The team to initialize.
+     * @param random The random number generator used to select the items.
      * @throws PersistanceException If an error occurs during initialization.
      */
-    public void initializeTeam(Team team) throws PersistanceException {
+    public void initializeTeam(Team team, RandomGenerator random) throws PersistanceException {
         for (Member member : team.getMembers()) {
-            itemManager.equipItemsMember(member);
-            member.resetDamage();
+            itemManager.equipItemsMember(member, random);
+            member.resetCombatState();
         }
     }
 
+    /**
+     * Retrieves all the teams with their members from the DAO.
+     *
+     * @return A list of teams.
+     * @throws PersistanceException If an error occurs during loading.
+     */
+    public List<Team> loadTeams() throws PersistanceException {
+        return teamDAO.loadTeams();
+    }
+
     /**
      * Retrieves a list of team names from the DAO.
      *
@@ -127,6 +197,28 @@ public class TeamManager {
         return teamDAO.findTeamByIndex(selectedOption - 1);
     }
 
+    /**
+     * Finds two teams by their index in the team list, loading both at the same time.
+     *
+     * @param firstOption  The index of the first team to retrieve.
+     * @param secondOption The index of the second team to retrieve.
+     * @return A list with the two team objects, in the same order as the indexes.
+     * @throws PersistanceException If an error occurs during retrieval.
+     */
+    public List<Team> findTeamsByIndex(int firstOption, int secondOption) throws PersistanceException {
+        CompletableFuture<Team> first = teamDAO.findTeamByIndexAsync(firstOption - 1);
+        CompletableFuture<Team> second = teamDAO.findTeamByIndexAsync(secondOption - 1);
+
+        try {
+            return List.of(first.join(), second.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof PersistanceException persistanceException) {
+                throw persistanceException;
+            }
+            throw new PersistanceException("Error loading teams: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
     /**
      * Checks if a team is defeated (all members are KO).
      *
@@ -0,0 +1,126 @@
+package business;
+
+import business.entities.SimulationResult;
+import business.entities.Team;
+import persistance.exceptions.PersistanceException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Manages round-robin tournaments between all the stored teams.
+ * Every pair of teams fights a number of simulated combats, and the combats are split into
+ * fork-join tasks that work on their own copies of the teams so they can run in parallel.
+ * Every task also owns a random stream split from the tournament seed, so the results of a
+ * tournament only depend on its seed and not on how the tasks are scheduled.
+ */
+public class TournamentManager {
+
+    //maximum number of combats simulated by a single task before it is split
+    private static final int FIGHTS_PER_TASK = 256;
+
+    private final TeamManager teamManager;
+    private final CombatManager combatManager;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a TournamentManager that runs the combats in the common fork-join pool.
+     *
+     * @param teamManager   Manages the teams that take part in the tournament.
+     * @param combatManager Manages the simulated combats.
+     */
+    public TournamentManager(TeamManager teamManager, CombatManager combatManager) {
+        this(teamManager, combatManager, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a TournamentManager that runs the combats in the given pool.
+     *
+     * @param teamManager   Manages the teams that take part in the tournament.
+     * @param combatManager Manages the simulated combats.
+     * @param pool          The pool where the combats are executed.
+     */
+    public TournamentManager(TeamManager teamManager, CombatManager combatManager, ForkJoinPool pool) {
+        this.teamManager = teamManager;
+        this.combatManager = combatManager;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs a round-robin tournament where every team fights every other team.
+     *
+     * @param fightsPerPairing The number of combats simulated for each pair of teams.
+     * @param seed             The seed of the random number generator of the tournament.
+     * @return The results of every pairing, in the order the teams are stored.
+     * @throws PersistanceException If an error occurs while loading the teams or equipping the members.
+     */
+    public List<SimulationResult> runTournament(int fightsPerPairing, long seed) throws PersistanceException {
+        List<Team> teams = teamManager.loadTeams();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        List<PairingTask> pairings = new ArrayList<>();
+        for (int i = 0; i < teams.size(); i++) {
+            for (int j = i + 1; j < teams.size(); j++) {
+                pairings.add(new PairingTask(teams.get(i), teams.get(j), fightsPerPairing, random.split()));
+            }
+        }
+
+        return pool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(pairings);
+
+            List<SimulationResult> results = new ArrayList<>();
+            for (PairingTask pairing : pairings) {
+                results.add(pairing.join());
+            }
+            return results;
+        }));
+    }
+
+    /**
+     * Fork-join task that simulates the combats of one pairing, splitting them in halves
+     * until every task has at most FIGHTS_PER_TASK combats.
+     */
+    //the tasks only run inside the pool and are never serialized, so their fields don't need to be serializable
+    @SuppressWarnings("serial")
+    private class PairingTask extends RecursiveTask<SimulationResult> {
+        private final Team team1;
+        private final Team team2;
+        private final int fights;
+        private final RandomGenerator.SplittableGenerator random;
+
+        /**
+         * Constructs a task for a number of combats between two teams.
+         *
+         * @param team1  The first team, it is copied before fighting.
+         * @param team2  The second team, it is copied before fighting.
+         * @param fights The number of combats to simulate.
+         * @param random The random number generator owned by this task.
+         */
+        private PairingTask(Team team1, Team team2, int fights, RandomGenerator.SplittableGenerator random) {
+            this.team1 = team1;
+            this.team2 = team2;
+            this.fights = fights;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (fights <= FIGHTS_PER_TASK) {
+                return combatManager.simulateCombats(new Team(team1), new Team(team2), fights, random);
+            }
+
+            PairingTask left = new PairingTask(team1, team2, fights / 2, random.split());
+            PairingTask right = new PairingTask(team1, team2, fights - fights / 2, random);
+            left.fork();
+
+            SimulationResult result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package business.entities;
+
+/**
+ * Represents a combat read from a replay file.
+ * It keeps the seed and the teams needed to execute the combat again, and the recorded events
+ * in the binary replay format, so they can be compared with the events of the new execution.
+ */
+public class CombatReplay {
+    //seed of the random number generator of the combat
+    private final long seed;
+
+    //name of the first team
+    private final String team1;
+
+    //name of the second team
+    private final String team2;
+
+    //recorded events of the combat, from its start to its end
+    private final byte[] events;
+
+    /**
+     * Constructs a combat read from a replay file.
+     *
+     * @param seed   The seed of the random number generator of the combat.
+     * @param team1  The name of the first team.
+     * @param team2  The name of the second team.
+     * @param events The recorded events of the combat in the binary replay format.
+     */
+    public CombatReplay(long seed, String team1, String team2, byte[] events) {
+        this.seed = seed;
+        this.team1 = team1;
+        this.team2 = team2;
+        this.events = events;
+    }
+
+    /**
+     * Get the seed of the random number generator of the combat.
+     *
+     * @return The seed of the combat.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Get the name of the first team.
+     *
+     * @return The name of the first team.
+     */
+    public String getTeam1() {
+        return team1;
+    }
+
+    /**
+     * Get the name of the second team.
+     *
+     * @return The name of the second team.
+     */
+    public String getTeam2() {
+        return team2;
+    }
+
+    /**
+     * Get the recorded events of the combat, from its start to its end.
+     *
+     * @return The events in the binary replay format.
+     */
+    public byte[] getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,136 @@
+package business.entities;
+
+import java.util.List;
+
+/**
+ * Represents the result of a single combat between two teams.
+ * It is the record appended to the statistics log after every combat, and it knows how to
+ * update the statistics of both teams so the aggregates can be rebuilt by replaying the log.
+ */
+public class CombatResult {
+    //name of the first team
+    private final String team1;
+
+    //name of the second team
+    private final String team2;
+
+    //the number of members of the first team that ended KO
+    private final int KO_team1;
+
+    //the number of members of the second team that ended KO
+    private final int KO_team2;
+
+    //the name of the winning team, empty if it was a tie
+    private final String winner;
+
+    /**
+     * Constructs the result of a combat.
+     *
+     * @param team1   The name of the first team.
+     * @param team2   The name of the second team.
+     * @param koTeam1 The number of members of the first team that ended KO.
+     * @param koTeam2 The number of members of the second team that ended KO.
+     * @param winner  The name of the winning team, empty if it was a tie.
+     */
+    public CombatResult(String team1, String team2, int koTeam1, int koTeam2, String winner) {
+        this.team1 = team1;
+        this.team2 = team2;
+        this.KO_team1 = koTeam1;
+        this.KO_team2 = koTeam2;
+        this.winner = winner;
+    }
+
+    /**
+     * Get the name of the first team.
+     *
+     * @return The name of the first team.
+     */
+    public String getTeam1() {
+        return team1;
+    }
+
+    /**
+     * Get the name of the second team.
+     *
+     * @return The name of the second team.
+     */
+    public String getTeam2() {
+        return team2;
+    }
+
+    /**
+     * Get the number of members of the first team that ended KO.
+     *
+     * @return The number of KO of the first team.
+     */
+    public int getKO_team1() {
+        return KO_team1;
+    }
+
+    /**
+     * Get the number of members of the second team that ended KO.
+     *
+     * @return The number of KO of the second team.
+     */
+    public int getKO_team2() {
+        return KO_team2;
+    }
+
+    /**
+     * Get the name of the winning team.
+     *
+     * @return The name of the winning team, empty if it was a tie.
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * Updates the statistics of both teams with this result.
+     *
+     * @param stats1 The statistics of the first team.
+     * @param stats2 The statistics of the second team.
+     */
+    public void applyTo(Statistics stats1, Statistics stats2) {
+        stats1.incrementGamesPlayed();
+        if (winner.equalsIgnoreCase(team1)) {
+            stats1.incrementGamesWon();
+        }
+        stats1.incrementKOMade(KO_team2);
+        stats1.incrementKOReceived(KO_team1);
+
+        stats2.incrementGamesPlayed();
+        if (winner.equalsIgnoreCase(team2)) {
+            stats2.incrementGamesWon();
+        }
+        stats2.incrementKOMade(KO_team1);
+        stats2.incrementKOReceived(KO_team2);
+    }
+
+    /**
+     * Updates a list of statistics with this result, adding the statistics of a team if it is not in the list.
+     *
+     * @param statistics The list of statistics to update.
+     */
+    public void applyTo(List<Statistics> statistics) {
+        applyTo(findOrCreate(statistics, team1), findOrCreate(statistics, team2));
+    }
+
+    /**
+     * Finds the statistics of a team in a list, adding new statistics for the team if it is not found.
+     *
+     * @param statistics The list of statistics.
+     * @param name       The name of the team.
+     * @return The statistics of the team.
+     */
+    private static Statistics findOrCreate(List<Statistics> statistics, String name) {
+        for (Statistics stat : statistics) {
+            if (stat.getName().equalsIgnoreCase(name)) {
+                return stat;
+            }
+        }
+        Statistics stat = new Statistics(name);
+        statistics.add(stat);
+        return stat;
+    }
+}
@@ -3,10 +3,12 @@ package business.entities;
 /**
  * An abstract class representing an Item in the game.
  * It has a name, id, power, durability and type (armor or weapon)
+ * An item is an immutable definition shared by every member that equips it, the remaining
+ * durability of an equipped item is tracked by the Member.
  */
 public abstract class Item {
     //name of the item
-    private String name;
+    private final String name;
 
     //id of the item
     private final long id;
@@ -14,8 +16,8 @@ public abstract class Item {
     //Power of the item
     private final int power;
 
-    //durability of the item
-    private int durability;
+    //durability of the item when it is equipped
+    private final int durability;
 
 
 
@@ -64,7 +66,7 @@ public abstract class Item {
     }
 
     /**
-     * Get the durability of the item
+     * Get the durability of the item when it is equipped
      *
      * @return The durability of the item
      */
@@ -72,25 +74,6 @@ public abstract class Item {
         return durability;
     }
 
-    /**
-     * Reduces the durability of the item by one if it is greater than zero.
-     *
-     */
-    public void reduceDurability() {
-        if (durability > 0) {
-            durability--;
-        }
-    }
-
-    /**
-     * Checks if the item is broken when the durability is 0 or less
-     *
-     * @return true if the item is broken, false otherwise.
-     */
-    public boolean isBroken() {
-        return durability <= 0;
-    }
-
     /**
      * Polymorphic method: each item returns its effect value based on the user's weight
      *
@@ -0,0 +1,134 @@
+package business.entities;
+
+/**
+ * Represents the estimated outcome of a matchup between two teams, computed from simulated combats.
+ * Every probability has a 95% confidence interval of plus or minus the half-width.
+ */
+public class MatchupEstimate {
+    //name of the first team
+    private final String team1Name;
+
+    //name of the second team
+    private final String team2Name;
+
+    //the number of combats simulated for the estimate
+    private final int fights;
+
+    //probability that the first team wins
+    private final double team1WinProbability;
+
+    //probability that both teams are defeated
+    private final double tieProbability;
+
+    //probability that the second team wins
+    private final double team2WinProbability;
+
+    //expected number of rounds of a combat
+    private final double expectedRounds;
+
+    //largest half-width of the 95% confidence intervals of the probabilities
+    private final double halfWidth;
+
+    //whether the half-width reached the requested precision before the maximum number of combats
+    private final boolean converged;
+
+    /**
+     * Constructs the estimate of a matchup from the results of its simulated combats.
+     *
+     * @param result    The aggregated results of the simulated combats.
+     * @param halfWidth The largest half-width of the 95% confidence intervals of the probabilities.
+     * @param converged Whether the half-width reached the requested precision.
+     */
+    public MatchupEstimate(SimulationResult result, double halfWidth, boolean converged) {
+        this.team1Name = result.getTeam1Name();
+        this.team2Name = result.getTeam2Name();
+        this.fights = result.getFights();
+        this.team1WinProbability = result.getTeam1WinRate();
+        this.tieProbability = result.getTieRate();
+        this.team2WinProbability = result.getTeam2WinRate();
+        this.expectedRounds = result.getAverageRounds();
+        this.halfWidth = halfWidth;
+        this.converged = converged;
+    }
+
+    /**
+     * Get the name of the first team
+     *
+     * @return The name of the first team
+     */
+    public String getTeam1Name() {
+        return team1Name;
+    }
+
+    /**
+     * Get the name of the second team
+     *
+     * @return The name of the second team
+     */
+    public String getTeam2Name() {
+        return team2Name;
+    }
+
+    /**
+     * Get the number of combats simulated for the estimate
+     *
+     * @return The number of combats
+     */
+    public int getFights() {
+        return fights;
+    }
+
+    /**
+     * Get the probability that the first team wins
+     *
+     * @return The probability between 0 and 1
+     */
+    public double getTeam1WinProbability() {
+        return team1WinProbability;
+    }
+
+    /**
+     * Get the probability that both teams are defeated
+     *
+     * @return The probability between 0 and 1
+     */
+    public double getTieProbability() {
+        return tieProbability;
+    }
+
+    /**
+     * Get the probability that the second team wins
+     *
+     * @return The probability between 0 and 1
+     */
+    public double getTeam2WinProbability() {
+        return team2WinProbability;
+    }
+
+    /**
+     * Get the expected number of rounds of a combat
+     *
+     * @return The average rounds of the simulated combats
+     */
+    public double getExpectedRounds() {
+        return expectedRounds;
+    }
+
+    /**
+     * Get the largest half-width of the 95% confidence intervals of the probabilities
+     *
+     * @return The half-width
+     */
+    public double getHalfWidth() {
+        return halfWidth;
+    }
+
+    /**
+     * Check if the estimate reached the requested precision
+     *
+     * @return true if the half-width is within the requested precision, false if the maximum number of combats was reached first
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+}
@@ -26,6 +26,12 @@ public class Member {
     //armor equipped to the Member
     private Armor armor;
 
+    //remaining uses of the equipped weapon
+    private int weaponDurability;
+
+    //remaining uses of the equipped armor
+    private int armorDurability;
+
     //flag to check if the character is in a defensive state
     private boolean defending;
 
@@ -58,6 +64,16 @@ public class Member {
         this.pendingDamageTaken = 0;
     }
 
+    /**
+     * Copy constructor of the Member. The copy shares the character and the strategy, which are not
+     * modified during a combat, and starts without items and with a clean combat state.
+     *
+     * @param member the member to copy
+     */
+    public Member(Member member) {
+        this(member.id, member.character, member.strategy);
+    }
+
     /**
      * Get the member id
      *
@@ -158,21 +174,77 @@ public class Member {
     }
 
     /**
-     * Sets a weapon for the member.
+     * Sets a weapon for the member with its full durability.
      *
-     * @param weapon The weapon to equip.
+     * @param weapon The weapon to equip, or null to remove it.
      */
     public void equipWeapon(Weapon weapon) {
         this.weapon = weapon;
+        this.weaponDurability = weapon != null ? weapon.getDurability() : 0;
     }
 
     /**
-     * Sets an armor for the member.
+     * Sets an armor for the member with its full durability.
      *
-     * @param armor The armor to equip.
+     * @param armor The armor to equip, or null to remove it.
      */
     public void equipArmor(Armor armor) {
         this.armor = armor;
+        this.armorDurability = armor != null ? armor.getDurability() : 0;
+    }
+
+    /**
+     * Get the remaining uses of the equipped weapon.
+     *
+     * @return The weapon durability, 0 if there is no weapon
+     */
+    public int getWeaponDurability() {
+        return weaponDurability;
+    }
+
+    /**
+     * Get the remaining uses of the equipped armor.
+     *
+     * @return The armor durability, 0 if there is no armor
+     */
+    public int getArmorDurability() {
+        return armorDurability;
+    }
+
+    /**
+     * Reduces the durability of the equipped weapon by one if it is greater than zero.
+     */
+    public void reduceWeaponDurability() {
+        if (weaponDurability > 0) {
+            weaponDurability--;
+        }
+    }
+
+    /**
+     * Reduces the durability of the equipped armor by one if it is greater than zero.
+     */
+    public void reduceArmorDurability() {
+        if (armorDurability > 0) {
+            armorDurability--;
+        }
+    }
+
+    /**
+     * Checks if the equipped weapon is broken when its durability is 0 or less
+     *
+     * @return true if the weapon is broken, false otherwise.
+     */
+    public boolean isWeaponBroken() {
+        return weaponDurability <= 0;
+    }
+
+    /**
+     * Checks if the equipped armor is broken when its durability is 0 or less
+     *
+     * @return true if the armor is broken, false otherwise.
+     */
+    public boolean isArmorBroken() {
+        return armorDurability <= 0;
     }
 
     /**
@@ -200,10 +272,15 @@ public class Member {
     }
 
     /**
-     * Resets the damage to 0 for the beginning of the combat
+     * Resets the damage, KO and defending flags for the beginning of the combat.
+     * The equipped items are kept, they are replaced when the team is initialized.
      */
-    public void resetDamage() {
+    public void resetCombatState() {
         this.damageTaken = 0;
+        this.pendingDamageTaken = 0;
+        this.defending = false;
+        this.defendingNextTurn = false;
+        this.isKO = false;
     }
 
     /**
@@ -0,0 +1,197 @@
+package business.entities;
+
+/**
+ * Represents the aggregated results of a batch of simulated combats between two teams.
+ * It tracks the wins of each team, the ties, the total rounds played and how many members
+ * of each team ended KO in every combat, so it can be used to balance teams and items.
+ */
+public class SimulationResult {
+    //name of the first team
+    private final String team1Name;
+
+    //name of the second team
+    private final String team2Name;
+
+    //the number of combats simulated
+    private int fights;
+
+    //the number of combats won by the first team
+    private int team1Wins;
+
+    //the number of combats won by the second team
+    private int team2Wins;
+
+    //the number of combats where both teams were defeated, or that reached the maximum rounds without a defeated team
+    private int ties;
+
+    //the sum of the rounds of all the combats
+    private long totalRounds;
+
+    //position i counts the combats that ended with i members of the first team KO
+    private final int[] team1KODistribution;
+
+    //position i counts the combats that ended with i members of the second team KO
+    private final int[] team2KODistribution;
+
+    /**
+     * Constructs an empty SimulationResult for the given teams.
+     *
+     * @param team1Name   The name of the first team.
+     * @param team2Name   The name of the second team.
+     * @param team1Size   The number of members of the first team.
+     * @param team2Size   The number of members of the second team.
+     */
+    public SimulationResult(String team1Name, String team2Name, int team1Size, int team2Size) {
+        this.team1Name = team1Name;
+        this.team2Name = team2Name;
+        this.team1KODistribution = new int[team1Size + 1];
+        this.team2KODistribution = new int[team2Size + 1];
+    }
+
+    /**
+     * Adds the result of one combat to the aggregated results.
+     *
+     * @param winner   1 if the first team won, 2 if the second team won, 0 if it was a tie.
+     * @param rounds   The number of rounds the combat lasted.
+     * @param koTeam1  The number of members of the first team that ended KO.
+     * @param koTeam2  The number of members of the second team that ended KO.
+     */
+    public void recordFight(int winner, int rounds, int koTeam1, int koTeam2) {
+        fights++;
+        switch (winner) {
+            case 1 -> team1Wins++;
+            case 2 -> team2Wins++;
+            default -> ties++;
+        }
+        totalRounds += rounds;
+        team1KODistribution[koTeam1]++;
+        team2KODistribution[koTeam2]++;
+    }
+
+    /**
+     * Adds the results of another batch of combats between the same teams.
+     *
+     * @param other The results to add.
+     */
+    public void merge(SimulationResult other) {
+        fights += other.fights;
+        team1Wins += other.team1Wins;
+        team2Wins += other.team2Wins;
+        ties += other.ties;
+        totalRounds += other.totalRounds;
+        for (int i = 0; i < team1KODistribution.length; i++) {
+            team1KODistribution[i] += other.team1KODistribution[i];
+        }
+        for (int i = 0; i < team2KODistribution.length; i++) {
+            team2KODistribution[i] += other.team2KODistribution[i];
+        }
+    }
+
+    /**
+     * Get the name of the first team
+     *
+     * @return The name of the first team
+     */
+    public String getTeam1Name() {
+        return team1Name;
+    }
+
+    /**
+     * Get the name of the second team
+     *
+     * @return The name of the second team
+     */
+    public String getTeam2Name() {
+        return team2Name;
+    }
+
+    /**
+     * Get the number of simulated combats
+     *
+     * @return The number of combats
+     */
+    public int getFights() {
+        return fights;
+    }
+
+    /**
+     * Get the number of combats won by the first team
+     *
+     * @return The wins of the first team
+     */
+    public int getTeam1Wins() {
+        return team1Wins;
+    }
+
+    /**
+     * Get the number of combats won by the second team
+     *
+     * @return The wins of the second team
+     */
+    public int getTeam2Wins() {
+        return team2Wins;
+    }
+
+    /**
+     * Get the number of combats that ended in a tie
+     *
+     * @return The number of ties
+     */
+    public int getTies() {
+        return ties;
+    }
+
+    /**
+     * Get the win rate of the first team
+     *
+     * @return The win rate between 0 and 1, or 0 if no combats were simulated
+     */
+    public double getTeam1WinRate() {
+        return fights > 0 ? (double) team1Wins / fights : 0;
+    }
+
+    /**
+     * Get the win rate of the second team
+     *
+     * @return The win rate between 0 and 1, or 0 if no combats were simulated
+     */
+    public double getTeam2WinRate() {
+        return fights > 0 ? (double) team2Wins / fights : 0;
+    }
+
+    /**
+     * Get the tie rate of the combats
+     *
+     * @return The tie rate between 0 and 1, or 0 if no combats were simulated
+     */
+    public double getTieRate() {
+        return fights > 0 ? (double) ties / fights : 0;
+    }
+
+    /**
+     * Get the average number of rounds per combat
+     *
+     * @return The average rounds, or 0 if no combats were simulated
+     */
+    public double getAverageRounds() {
+        return fights > 0 ? (double) totalRounds / fights : 0;
+    }
+
+    /**
+     * Get the KO distribution of the first team.
+     *
+     * @return An array where position i is the number of combats that ended with i members of the first team KO
+     */
+    public int[] getTeam1KODistribution() {
+        return team1KODistribution.clone();
+    }
+
+    /**
+     * Get the KO distribution of the second team.
+     *
+     * @return An array where position i is the number of combats that ended with i members of the second team KO
+     */
+    public int[] getTeam2KODistribution() {
+        return team2KODistribution.clone();
+    }
+}
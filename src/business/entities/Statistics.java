@@ -34,6 +34,36 @@ public class Statistics {
         this.KO_received = 0;
     }
 
+    /**
+     * Constructor of Statistics with all its values
+     *
+     * @param name The name of the team.
+     * @param gamesPlayed The number of games played.
+     * @param gamesWon The number of games won.
+     * @param koDone The number of KO's made.
+     * @param koReceived The number of KO's received.
+     */
+    public Statistics(String name, int gamesPlayed, int gamesWon, int koDone, int koReceived) {
+        this.name = name;
+        this.games_played = gamesPlayed;
+        this.games_won = gamesWon;
+        this.KO_done = koDone;
+        this.KO_received = koReceived;
+    }
+
+    /**
+     * Copy constructor of Statistics
+     *
+     * @param other The statistics to copy.
+     */
+    public Statistics(Statistics other) {
+        this.name = other.name;
+        this.games_played = other.games_played;
+        this.games_won = other.games_won;
+        this.KO_done = other.KO_done;
+        this.KO_received = other.KO_received;
+    }
+
     /**
      * Get the name of the team
      *
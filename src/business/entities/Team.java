@@ -24,6 +24,20 @@ public class Team {
         this.members = new ArrayList<>();
     }
 
+    /**
+     * Copy constructor of the Team. Every member is copied so the copy can fight
+     * without modifying the state of the original team.
+     *
+     * @param team The team to copy.
+     */
+    public Team(Team team) {
+        this.name = team.name;
+        this.members = new ArrayList<>();
+        for (Member member : team.members) {
+            members.add(new Member(member));
+        }
+    }
+
     /**
      * Get the name of the team
      *
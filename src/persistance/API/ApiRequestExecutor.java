@@ -0,0 +1,104 @@
+package persistance.API;
+
+import edu.salle.url.api.exception.ApiException;
+import persistance.exceptions.PersistanceException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs independent API requests concurrently on virtual threads.
+ * All the API DAOs share the same executor, which limits how many requests are in flight at the
+ * same time so the server is not flooded when many requests are started together.
+ */
+public final class ApiRequestExecutor {
+    //maximum number of requests running at the same time
+    private static final int MAX_IN_FLIGHT = 8;
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Semaphore IN_FLIGHT = new Semaphore(MAX_IN_FLIGHT);
+
+    private ApiRequestExecutor() {
+    }
+
+    /**
+     * A request to the API that returns a value.
+     *
+     * @param <T> The type of the value returned by the request
+     */
+    @FunctionalInterface
+    public interface ApiCall<T> {
+        /**
+         * Executes the request.
+         *
+         * @return The value of the request
+         * @throws ApiException if the API returns an error
+         * @throws PersistanceException if the response can't be processed
+         */
+        T call() throws ApiException, PersistanceException;
+    }
+
+    /**
+     * Starts a request on its own virtual thread.
+     * The call holds one of the in-flight permits while it runs, so it must be a single request and must
+     * never wait for another request started with supplyAsync: if every permit is held by a call that
+     * waits, the requests they wait for never start. Composite operations combine the futures instead.
+     * Cancelling the returned future interrupts the virtual thread of the request, which aborts a request
+     * that is waiting for a permit or blocked on the connection and releases its permit.
+     *
+     * @param call The request to execute
+     * @param <T>  The type of the value returned by the request
+     * @return A future completed with the value of the request, or with a PersistanceException if it fails
+     */
+    public static <T> CompletableFuture<T> supplyAsync(ApiCall<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = EXECUTOR.submit(() -> {
+            try {
+                IN_FLIGHT.acquire();
+            } catch (InterruptedException e) {
+                //the request was cancelled before it started
+                return;
+            }
+            try {
+                result.complete(call.call());
+            } catch (ApiException e) {
+                result.completeExceptionally(new PersistanceException(e.getMessage(), e));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                IN_FLIGHT.release();
+            }
+        });
+
+        //CompletableFuture.cancel does not interrupt anything, so a cancelled request interrupts its own thread
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for a request started with supplyAsync and returns its value.
+     *
+     * @param future The future of the request
+     * @param <T>    The type of the value returned by the request
+     * @return The value of the request
+     * @throws PersistanceException if the request failed
+     */
+    public static <T> T join(CompletableFuture<T> future) throws PersistanceException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof PersistanceException persistanceException) {
+                throw persistanceException;
+            }
+            throw new PersistanceException("Error executing API request: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package persistance.API;
+
+import persistance.exceptions.PersistanceException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Checks the availability of all the API endpoints at startup.
+ * The four endpoints are requested at the same time and share a single deadline, so the startup
+ * waits at most for the slowest probe instead of the sum of all of them. The responses of the
+ * probes are kept so the DAOs can be created with their data already downloaded.
+ */
+public class ApiStartupProbe {
+    //maximum time the startup waits for all the probes together
+    private static final long DEADLINE_MILLIS = 10_000;
+
+    private final String charactersJson;
+    private final String itemsJson;
+    private final boolean teamsAvailable;
+    private final String statisticsJson;
+
+    /**
+     * Constructs a probe with the results of every endpoint.
+     *
+     * @param charactersJson The response of the characters endpoint, or null if it is not available
+     * @param itemsJson      The response of the items endpoint, or null if it is not available
+     * @param teamsAvailable Whether the teams endpoint is available
+     * @param statisticsJson The response of the statistics endpoint, or null if it is not available
+     */
+    private ApiStartupProbe(String charactersJson, String itemsJson, boolean teamsAvailable, String statisticsJson) {
+        this.charactersJson = charactersJson;
+        this.itemsJson = itemsJson;
+        this.teamsAvailable = teamsAvailable;
+        this.statisticsJson = statisticsJson;
+    }
+
+    /**
+     * Probes all the API endpoints in parallel and waits for them until the shared deadline.
+     * The probes that have not finished by then are cancelled, which interrupts their requests, and their
+     * endpoints are reported as not available.
+     *
+     * @return The results of the probes
+     */
+    public static ApiStartupProbe probeAll() {
+        CompletableFuture<String> characters = CharacterApiDAO.validateUsageAsync();
+        CompletableFuture<String> items = ItemApiDAO.validateUsageAsync();
+        CompletableFuture<String> teams = TeamApiDAO.validateUsageAsync();
+        CompletableFuture<String> statistics = StatisticsApiDAO.validateUsageAsync();
+
+        try {
+            CompletableFuture.allOf(characters, items, teams, statistics).get(DEADLINE_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            //the failed or unfinished probes are handled one by one below
+        }
+
+        return new ApiStartupProbe(
+                resultOf(characters),
+                resultOf(items),
+                resultOf(teams) != null,
+                resultOf(statistics));
+    }
+
+    /**
+     * Retrieves the response of a probe if it finished successfully, cancelling it otherwise.
+     * The probes are started with ApiRequestExecutor, so cancelling one interrupts the thread of its request.
+     *
+     * @param probe The future of the probe
+     * @return The response of the probe, or null if the endpoint is not available
+     */
+    private static String resultOf(CompletableFuture<String> probe) {
+        if (!probe.isDone()) {
+            probe.cancel(true);
+            return null;
+        }
+        try {
+            return ApiRequestExecutor.join(probe);
+        } catch (PersistanceException | CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if the characters endpoint is available.
+     *
+     * @return true if the API returned the characters, false otherwise
+     */
+    public boolean isCharactersAvailable() {
+        return charactersJson != null;
+    }
+
+    /**
+     * Checks if the items endpoint is available.
+     *
+     * @return true if the API returned the items, false otherwise
+     */
+    public boolean isItemsAvailable() {
+        return itemsJson != null;
+    }
+
+    /**
+     * Checks if the teams endpoint is available.
+     *
+     * @return true if the API returned the teams, false otherwise
+     */
+    public boolean isTeamsAvailable() {
+        return teamsAvailable;
+    }
+
+    /**
+     * Checks if the statistics endpoint is available.
+     *
+     * @return true if the API returned the statistics, false otherwise
+     */
+    public boolean isStatisticsAvailable() {
+        return statisticsJson != null;
+    }
+
+    /**
+     * Retrieves the response of the characters probe.
+     *
+     * @return The JSON list of characters, or null if the endpoint is not available
+     */
+    public String getCharactersJson() {
+        return charactersJson;
+    }
+
+    /**
+     * Retrieves the response of the items probe.
+     *
+     * @return The JSON list of items, or null if the endpoint is not available
+     */
+    public String getItemsJson() {
+        return itemsJson;
+    }
+
+    /**
+     * Retrieves the response of the statistics probe.
+     *
+     * @return The JSON list of statistics snapshots, or null if the endpoint is not available
+     */
+    public String getStatisticsJson() {
+        return statisticsJson;
+    }
+}
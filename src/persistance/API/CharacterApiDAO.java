@@ -12,14 +12,34 @@ import persistance.exceptions.PersistanceException;
 
 import java.io.UnsupportedEncodingException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * API-based implementation of CharacterDAO for managing character data.
  * Uses REST API calls to fetch character information from external sources.
+ * The characters are shared read-only data, so the full list is downloaded only once and kept in memory.
  */
 public class CharacterApiDAO implements CharacterDAO {
     private static final String BASE_URL = "https://balandrau.salle.url.edu/dpoo/shared/characters";
     private final Gson gson = new Gson();
+    private volatile List<Character> characters;
+
+    /**
+     * Constructs a CharacterApiDAO that downloads the characters the first time they are needed.
+     */
+    public CharacterApiDAO() {
+    }
+
+    /**
+     * Constructs a CharacterApiDAO whose character list is already downloaded, so the response of the
+     * startup probe is not requested again.
+     *
+     * @param charactersJson The JSON list of characters returned by the API
+     * @throws PersistanceException if the JSON can't be parsed
+     */
+    public CharacterApiDAO(String charactersJson) throws PersistanceException {
+        this.characters = parseCharacters(charactersJson);
+    }
 
     /**
      * Loads all characters from the API.
@@ -29,12 +49,19 @@ public class CharacterApiDAO implements CharacterDAO {
      */
     @Override
     public List<Character> loadAllCharacters() throws PersistanceException {
+        List<Character> loaded = characters;
+        if (loaded != null) {
+            return loaded;
+        }
+
         try {
             ApiHelper apiHelper = new ApiHelper();
 
             String json = apiHelper.getFromUrl(BASE_URL);
 
-            return gson.fromJson(json, new TypeToken<List<Character>>() {}.getType());
+            loaded = parseCharacters(json);
+            characters = loaded;
+            return loaded;
 
         } catch (ApiException e) {
             throw new PersistanceException("Error fetching all characters from API", e);
@@ -42,20 +69,50 @@ public class CharacterApiDAO implements CharacterDAO {
     }
 
     /**
-     * Validates that the API is accessible and working.
+     * Parses the JSON list of characters returned by the API.
      *
-     * @throws PersistanceException if the API is not reachable or returns empty response
+     * @param json The JSON list of characters
+     * @return An unmodifiable list with the characters
+     * @throws PersistanceException if the JSON can't be parsed
      */
-    public static void validateUsage() throws PersistanceException {
+    private List<Character> parseCharacters(String json) throws PersistanceException {
         try {
+            List<Character> parsed = gson.fromJson(json, new TypeToken<List<Character>>() {}.getType());
+            return parsed != null ? List.copyOf(parsed) : List.of();
+        } catch (JsonSyntaxException e) {
+            throw new PersistanceException("Error parsing characters JSON from API: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads all characters from the API on a virtual thread.
+     *
+     * @return A future with all available characters
+     */
+    @Override
+    public CompletableFuture<List<Character>> loadAllCharactersAsync() {
+        List<Character> loaded = characters;
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+        return ApiRequestExecutor.supplyAsync(this::loadAllCharacters);
+    }
+
+    /**
+     * Validates that the API is accessible and working, on a virtual thread.
+     *
+     * @return A future with the JSON list of characters returned by the API, completed exceptionally with a
+     *         PersistanceException if the API is not reachable or returns an empty response
+     */
+    public static CompletableFuture<String> validateUsageAsync() {
+        return ApiRequestExecutor.supplyAsync(() -> {
             ApiHelper apiHelper = new ApiHelper();
             String check = apiHelper.getFromUrl(BASE_URL);
             if (check == null || check.isBlank()) {
                 throw new PersistanceException("API is reachable but returned an empty response.");
             }
-        } catch (ApiException e){
-            throw new PersistanceException(e.getMessage());
-        }
+            return check;
+        });
     }
 
     /**
@@ -5,24 +5,26 @@ import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
 import edu.salle.url.api.ApiHelper;
 import edu.salle.url.api.exception.ApiException;
-import edu.salle.url.api.exception.status.IncorrectRequestException;
+import persistance.ItemCatalog;
 import persistance.ItemDAO;
 import persistance.exceptions.PersistanceException;
 
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
 
 /**
  * API-based implementation of ItemDAO for managing item data.
  * Uses REST API calls to fetch item information from external sources.
+ * The item list is downloaded only once, the first time an item is needed, into an in-memory ItemCatalog
+ * that shares a single instance of every item.
  */
 public class ItemApiDAO implements ItemDAO {
     private static final String BASE_URL = "https://balandrau.salle.url.edu/dpoo/shared/items";
 
     private final Gson gson;
-    private final Random random = new Random();
+    private volatile ItemCatalog catalog;
 
     /**
      * Constructor that initializes the ItemApiDAO with a custom Gson deserializer.
@@ -34,6 +36,18 @@ public class ItemApiDAO implements ItemDAO {
                 .create();
     }
 
+    /**
+     * Constructor that initializes the ItemApiDAO with an item list that is already downloaded,
+     * so the response of the startup probe is not requested again.
+     *
+     * @param itemsJson The JSON list of items returned by the API
+     * @throws PersistanceException if the JSON can't be parsed
+     */
+    public ItemApiDAO(String itemsJson) throws PersistanceException {
+        this();
+        this.catalog = parseCatalog(itemsJson);
+    }
+
     /**
      * Custom deserializer for Item class that handles the abstract class instantiation
      */
@@ -59,73 +73,96 @@ public class ItemApiDAO implements ItemDAO {
     }
 
     /**
-     * Validates that the API is accessible and working.
+     * Validates that the API is accessible and working, on a virtual thread.
      *
-     * @throws PersistanceException if the API is not reachable
+     * @return A future with the JSON list of items returned by the API, completed exceptionally with a
+     *         PersistanceException if the API is not reachable
      */
-    public static void validateUsage() throws PersistanceException {
-        try {
+    public static CompletableFuture<String> validateUsageAsync() {
+        return ApiRequestExecutor.supplyAsync(() -> {
             ApiHelper apiHelper = new ApiHelper();
-            String check = apiHelper.getFromUrl(BASE_URL);
-        } catch (ApiException e){
-            throw new PersistanceException(e.getMessage());
-        }
+            return apiHelper.getFromUrl(BASE_URL);
+        });
     }
 
     /**
      * Retrieves a random weapon from the API.
      *
+     * @param random The random number generator used to select the weapon
      * @return A random Weapon object
      * @throws PersistanceException if there's an error fetching weapons from the API
      */
     @Override
-    public Weapon getRandomWeapon() throws PersistanceException {
-        return (Weapon) getRandomItem(List.of("Weapon", "Superweapon"));
+    public Weapon getRandomWeapon(RandomGenerator random) throws PersistanceException {
+        return getCatalog().getRandomWeapon(random);
     }
 
     /**
      * Retrieves a random armor from the API.
      *
+     * @param random The random number generator used to select the armor
      * @return A random Armor object
      * @throws PersistanceException if there's an error fetching armor from the API
      */
     @Override
-    public Armor getRandomArmor() throws PersistanceException {
-        return (Armor) getRandomItem(List.of("Armor", "Superarmor"));
+    public Armor getRandomArmor(RandomGenerator random) throws PersistanceException {
+        return getCatalog().getRandomArmor(random);
     }
 
     /**
-     * Retrieves a random item of the specified types from the API.
+     * Returns the item catalog, downloading the item list the first time it is needed.
      *
-     * @param acceptedTypes List of accepted item types
-     * @return A random Item object of the specified types
+     * @return The catalog with all the items of the API
      * @throws PersistanceException if there's an error fetching items from the API
      */
-    private Item getRandomItem(List<String> acceptedTypes) throws PersistanceException {
+    private ItemCatalog getCatalog() throws PersistanceException {
+        ItemCatalog loaded = catalog;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = catalog;
+                if (loaded == null) {
+                    loaded = loadCatalog();
+                    catalog = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Downloads all the items from the API and builds the catalog.
+     *
+     * @return The catalog with all the items of the API
+     * @throws PersistanceException if there's an error fetching items from the API
+     */
+    private ItemCatalog loadCatalog() throws PersistanceException {
         try {
             ApiHelper apiHelper = new ApiHelper();
 
             String json = apiHelper.getFromUrl(BASE_URL);
 
-            List<Item> filteredItems = new ArrayList<>();
-            JsonArray array = JsonParser.parseString(json).getAsJsonArray();
+            return parseCatalog(json);
 
-            for (JsonElement element : array) {
-                JsonObject obj = element.getAsJsonObject();
-                String itemClass = obj.get("class").getAsString();
-
-                if (acceptedTypes.contains(itemClass)) {
-                    filteredItems.add(gson.fromJson(obj, Item.class));
-                }
-            }
+        } catch (ApiException e) {
+            throw new PersistanceException("Error fetching items from API", e);
+        }
+    }
 
-            if (filteredItems.isEmpty()) return null;
+    /**
+     * Builds the catalog from the JSON list of items returned by the API.
+     *
+     * @param json The JSON list of items
+     * @return The catalog with all the items of the JSON
+     * @throws PersistanceException if the JSON can't be parsed
+     */
+    private ItemCatalog parseCatalog(String json) throws PersistanceException {
+        try {
+            List<Item> items = gson.fromJson(json, new TypeToken<List<Item>>() {}.getType());
 
-            int randomIndex = random.nextInt(filteredItems.size());
-            return filteredItems.get(randomIndex);
+            return new ItemCatalog(items != null ? items : List.of());
 
-        } catch (ApiException e) {
-            throw new PersistanceException("Error fetching items from API", e);
+        } catch (JsonParseException e) {
+            throw new PersistanceException("Error parsing item JSON from API: " + e.getMessage(), e);
         }
     }
 
@@ -137,20 +174,7 @@ public class ItemApiDAO implements ItemDAO {
      */
     @Override
     public List<String> getItemNames() throws PersistanceException {
-        try {
-            ApiHelper apiHelper = new ApiHelper();
-
-            String json = apiHelper.getFromUrl(BASE_URL);
-
-            List<Item> items = gson.fromJson(json, new TypeToken<List<Item>>() {}.getType());
-
-            return items.stream()
-                    .map(Item::getName)
-                    .toList();
-
-        } catch (ApiException e) {
-            throw new PersistanceException("Error fetching item names from API", e);
-        }
+        return getCatalog().getItemNames();
     }
 
     /**
@@ -162,43 +186,7 @@ public class ItemApiDAO implements ItemDAO {
      */
     @Override
     public Item getItemByName(String name) throws PersistanceException {
-        try {
-            ApiHelper apiHelper = new ApiHelper();
-            // URL encode the name parameter to handle spaces and special characters
-            String encodedName = java.net.URLEncoder.encode(name, "UTF-8");
-            String url = BASE_URL + "?name=" + encodedName;
-            
-            String json = apiHelper.getFromUrl(url);
-
-            // If the response is null or empty, return null
-            if (json == null || json.trim().isEmpty()) {
-                return null;
-            }
-
-            try {
-                // Handle both array and single object responses
-                if (json.trim().startsWith("[")) {
-                    // API returned an array
-                    List<Item> items = gson.fromJson(json, new TypeToken<List<Item>>() {}.getType());
-                    return items.isEmpty() ? null : items.getFirst();
-                } else {
-                    // API returned a single object
-                    return gson.fromJson(json, Item.class);
-                }
-            } catch (JsonSyntaxException e) {
-                throw new PersistanceException("Error parsing item JSON from API: " + e.getMessage(), e);
-            }
-
-        } catch (IncorrectRequestException e) {
-            if (e.getStatusCode() == 404) {
-                return null;
-            }
-            throw new PersistanceException("Failed to get item: " + e.getMessage(), e);
-        } catch (ApiException e) {
-            throw new PersistanceException("Error fetching item from API: " + e.getMessage(), e);
-        } catch (Exception e) {
-            throw new PersistanceException("Unexpected error while fetching item: " + e.getMessage(), e);
-        }
+        return getCatalog().getItemByName(name);
     }
 
 }
@@ -1,23 +1,67 @@
 package persistance.API;
 
+import business.entities.CombatResult;
 import business.entities.Statistics;
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import edu.salle.url.api.ApiHelper;
 import edu.salle.url.api.exception.ApiException;
 import persistance.StatisticsDAO;
 import persistance.exceptions.PersistanceException;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * API-based implementation of StatisticsDAO for managing statistics data.
  * Uses REST API calls to fetch and save statistics information from external sources.
+ * The latest snapshot is downloaded only once and kept in memory. Combat results only update the
+ * snapshot in memory, and a background task uploads it every SYNC_INTERVAL_SECONDS if it has changed,
+ * so many combats are sent in a single upload.
  */
 public class StatisticsApiDAO implements StatisticsDAO {
     private static final String BASE_URL = "https://balandrau.salle.url.edu/dpoo/S1-Project-13/stats";
+
+    //seconds between the uploads of the pending combat results
+    private static final long SYNC_INTERVAL_SECONDS = 30;
+
     private final Gson gson = new Gson();
 
+    //latest snapshot of the statistics, null until it is downloaded
+    private ArrayList<Statistics> snapshot;
+
+    //whether the snapshot has changes that are not uploaded yet
+    private boolean dirty;
+
+    //serializes the uploads so an older snapshot is never posted after a newer one
+    private final Object uploadLock = new Object();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a StatisticsApiDAO that downloads the latest snapshot the first time it is needed.
+     */
+    public StatisticsApiDAO() {
+    }
+
+    /**
+     * Constructs a StatisticsApiDAO whose snapshots are already downloaded, so the response of the
+     * startup probe is not requested again.
+     *
+     * @param statisticsJson The JSON list of snapshots returned by the API
+     * @throws PersistanceException if the JSON can't be parsed
+     */
+    public StatisticsApiDAO(String statisticsJson) throws PersistanceException {
+        this.snapshot = parseLatestSnapshot(statisticsJson);
+    }
+
     /**
      * Loads statistics from the API.
      *
@@ -25,68 +69,153 @@ public class StatisticsApiDAO implements StatisticsDAO {
      * @throws PersistanceException if there's an error fetching statistics from the API
      */
     @Override
-    public ArrayList<Statistics> loadStatistics() throws PersistanceException {
-        try {
-            ApiHelper apiHelper = new ApiHelper();
-            String json = apiHelper.getFromUrl(BASE_URL);
-
-            if (json == null || json.trim().isEmpty()) {
-                return new ArrayList<>();
+    public synchronized ArrayList<Statistics> loadStatistics() throws PersistanceException {
+        if (snapshot == null) {
+            try {
+                ApiHelper apiHelper = new ApiHelper();
+                snapshot = parseLatestSnapshot(apiHelper.getFromUrl(BASE_URL));
+            } catch (ApiException e) {
+                throw new PersistanceException("Error fetching statistics from API", e);
             }
+        }
+        return copyOf(snapshot);
+    }
 
-            // Parse the root JSON array (which contains multiple snapshots)
-            com.google.gson.JsonArray rootArray = gson.fromJson(json, com.google.gson.JsonArray.class);
-
-            if (rootArray.size() == 0) {
-                return new ArrayList<>();
-            }
+    /**
+     * Parses only the last snapshot of the JSON list of snapshots, skipping the older ones without building them.
+     *
+     * @param json The JSON list of snapshots returned by the API
+     * @return The statistics of the last snapshot, empty if there are no snapshots
+     * @throws PersistanceException if the JSON can't be parsed
+     */
+    private ArrayList<Statistics> parseLatestSnapshot(String json) throws PersistanceException {
+        ArrayList<Statistics> result = new ArrayList<>();
+        if (json == null || json.trim().isEmpty()) {
+            return result;
+        }
 
-            // Get the LAST snapshot (the latest one)
-            JsonElement lastSnapshot = rootArray.get(rootArray.size() - 1);
-            ArrayList<Statistics> result = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
 
-            if (lastSnapshot.isJsonArray()) {
-                for (JsonElement element : lastSnapshot.getAsJsonArray()) {
-                    if (element.isJsonObject()) {
-                        Statistics stat = gson.fromJson(element, Statistics.class);
-                        result.add(stat);
+                // Only the last snapshot is kept, so each one replaces the previous
+                result = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        result.add(gson.fromJson(reader, Statistics.class));
+                    } else {
+                        reader.skipValue();
                     }
                 }
+                reader.endArray();
             }
-
+            reader.endArray();
             return result;
-
-        } catch (ApiException e) {
-            throw new PersistanceException("Error fetching statistics from API", e);
-        } catch (com.google.gson.JsonSyntaxException e) {
+        } catch (IOException | IllegalStateException | JsonSyntaxException e) {
             throw new PersistanceException("Malformed JSON while loading statistics", e);
         }
     }
 
-    
-   
     /**
-     * Validates if the API is available.
+     * Validates that the API is accessible and working, on a virtual thread.
      *
-     * @throws PersistanceException if the API is not reachable
+     * @return A future with the JSON statistics snapshots returned by the API, completed exceptionally with a
+     *         PersistanceException if the API is not reachable
      */
-    public static void validateUsage() throws PersistanceException {
-        try {
+    public static CompletableFuture<String> validateUsageAsync() {
+        return ApiRequestExecutor.supplyAsync(() -> {
             ApiHelper apiHelper = new ApiHelper();
-            String check = apiHelper.getFromUrl(BASE_URL);
-        } catch (ApiException e){
-            throw new PersistanceException(e.getMessage());
-        }
+            return apiHelper.getFromUrl(BASE_URL);
+        });
     }
 
     /**
      * Saves statistics to the API.
+     * The statistics replace the snapshot in memory and are uploaded immediately.
      *
      * @param statistics The list of statistics to save
      * @throws PersistanceException if there's an error saving statistics to the API
      */
     @Override
     public void saveStatistics(List<Statistics> statistics) throws PersistanceException {
+        synchronized (this) {
+            snapshot = copyOf(statistics);
+            dirty = true;
+        }
+        flush();
+    }
+
+    /**
+     * Records the result of a combat in the snapshot in memory.
+     * The result is uploaded by the background task together with the other pending results.
+     *
+     * @param result The result of the combat
+     * @throws PersistanceException if there's an error fetching statistics from the API
+     */
+    @Override
+    public void appendCombatResult(CombatResult result) throws PersistanceException {
+        appendCombatResults(List.of(result));
+    }
+
+    /**
+     * Records the results of several combats in the snapshot in memory.
+     *
+     * @param results The results of the combats
+     * @throws PersistanceException if there's an error fetching statistics from the API
+     */
+    @Override
+    public void appendCombatResults(List<CombatResult> results) throws PersistanceException {
+        synchronized (this) {
+            if (snapshot == null) {
+                loadStatistics();
+            }
+            for (CombatResult result : results) {
+                result.applyTo(snapshot);
+            }
+            dirty = true;
+            startScheduler();
+        }
+    }
+
+    /**
+     * Uploads the snapshot if it has changes that are not uploaded yet.
+     *
+     * @throws PersistanceException if there's an error saving statistics to the API
+     */
+    public void flush() throws PersistanceException {
+        synchronized (uploadLock) {
+            List<Statistics> pending;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                pending = copyOf(snapshot);
+                dirty = false;
+            }
+
+            try {
+                upload(pending);
+            } catch (PersistanceException e) {
+                synchronized (this) {
+                    dirty = true;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Replaces the snapshot stored in the API with the given statistics.
+     *
+     * @param statistics The list of statistics to upload
+     * @throws PersistanceException if there's an error saving statistics to the API
+     */
+    private void upload(List<Statistics> statistics) throws PersistanceException {
         try {
             ApiHelper apiHelper = new ApiHelper();
 
@@ -105,4 +234,40 @@ public class StatisticsApiDAO implements StatisticsDAO {
         }
     }
 
+    /**
+     * Starts the background task that uploads the pending results, if it is not running yet.
+     * The task runs on a daemon thread so it never keeps the application alive.
+     */
+    private void startScheduler() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statistics-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (PersistanceException e) {
+                // The results stay pending and are uploaded on the next run
+            }
+        }, SYNC_INTERVAL_SECONDS, SYNC_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Copies a list of statistics, so the snapshot never shares objects with the callers.
+     *
+     * @param statistics The list of statistics to copy
+     * @return A new list with a copy of every statistic
+     */
+    private static ArrayList<Statistics> copyOf(List<Statistics> statistics) {
+        ArrayList<Statistics> copy = new ArrayList<>(statistics.size());
+        for (Statistics stat : statistics) {
+            copy.add(new Statistics(stat));
+        }
+        return copy;
+    }
+
 }
@@ -16,29 +16,55 @@ import persistance.TeamDAO;
 import persistance.exceptions.PersistanceException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * API-based implementation of TeamDAO for managing team data.
  * Uses REST API calls to fetch, save, and manage team information from external sources.
+ * The characters of the members are resolved with a single request for all the characters that
+ * runs concurrently with the request for the teams, so loading any number of teams costs two
+ * parallel requests.
  */
 public class TeamApiDAO implements TeamDAO {
     private final Gson gson = new Gson();
+    private final CharacterApiDAO characterApiDAO;
 
     private static final String BASE_URL = "https://balandrau.salle.url.edu/dpoo/S1-Project-13/teams";
 
     /**
-     * Validates that the API is accessible and working.
+     * Constructs a TeamApiDAO with its own CharacterApiDAO to resolve the members.
+     */
+    public TeamApiDAO() {
+        this(new CharacterApiDAO());
+    }
+
+    /**
+     * Constructs a TeamApiDAO that resolves the members with the given CharacterApiDAO,
+     * so it can share a character list that is already downloaded.
      *
-     * @throws PersistanceException if the API is not reachable
+     * @param characterApiDAO The DAO used to resolve the characters of the members
      */
-    public static void validateUsage() throws PersistanceException {
-        try {
+    public TeamApiDAO(CharacterApiDAO characterApiDAO) {
+        this.characterApiDAO = characterApiDAO;
+    }
+
+    /**
+     * Validates that the API is accessible and working, on a virtual thread.
+     *
+     * @return A future with the JSON list of teams returned by the API, completed exceptionally with a
+     *         PersistanceException if the API is not reachable
+     */
+    public static CompletableFuture<String> validateUsageAsync() {
+        return ApiRequestExecutor.supplyAsync(() -> {
             ApiHelper apiHelper = new ApiHelper();
-            String check = apiHelper.getFromUrl(BASE_URL);
-        } catch (ApiException e){
-            throw new PersistanceException(e.getMessage());
-        }
+            return apiHelper.getFromUrl(BASE_URL);
+        });
     }
 
     /**
@@ -50,23 +76,21 @@ public class TeamApiDAO implements TeamDAO {
     @Override
     public ArrayList<Team> loadTeams() throws PersistanceException {
         try {
+            CompletableFuture<List<Character>> allCharacters = characterApiDAO.loadAllCharactersAsync();
+
             ApiHelper apiHelper = new ApiHelper();
             String json = apiHelper.getFromUrl(BASE_URL);
 
             TeamPrint[] teamPrints = gson.fromJson(json, TeamPrint[].class);
-            CharacterApiDAO characterApiDAO = new CharacterApiDAO();
+            if (teamPrints == null) {
+                return new ArrayList<>();
+            }
+
+            Map<Long, Character> characters = resolveCharacters(Arrays.asList(teamPrints), allCharacters);
             ArrayList<Team> finalTeams = new ArrayList<>();
 
             for (TeamPrint teamPrint : teamPrints) {
-                List<Member> members = new ArrayList<>();
-                for (MemberPrint m : teamPrint.getMembers()) {
-                    Character character = characterApiDAO.getCharacterById(m.getId());
-                    CombatStrategy strategy = StrategyFactory.createStrategyByName(m.getStrategy());
-                    members.add(new Member(m.getId(), character, strategy));
-                }
-                Team t = new Team(teamPrint.getName());
-                t.setMembers(members);
-                finalTeams.add(t);
+                finalTeams.add(buildTeam(teamPrint, characters));
             }
 
             return finalTeams;
@@ -76,6 +100,23 @@ public class TeamApiDAO implements TeamDAO {
         }
     }
 
+    /**
+     * Loads all teams from the API as stored, without requesting the characters of the members.
+     *
+     * @return A list of TeamPrint objects
+     * @throws PersistanceException if there's an error fetching teams from the API
+     */
+    @Override
+    public List<TeamPrint> loadTeamPrints() throws PersistanceException {
+        try {
+            ApiHelper apiHelper = new ApiHelper();
+            TeamPrint[] teamPrints = gson.fromJson(apiHelper.getFromUrl(BASE_URL), TeamPrint[].class);
+            return teamPrints != null ? new ArrayList<>(Arrays.asList(teamPrints)) : new ArrayList<>();
+        } catch (ApiException e) {
+            throw new PersistanceException("Error fetching teams from API", e);
+        }
+    }
+
     /**
      * Saves a new team to the API.
      *
@@ -103,33 +144,34 @@ public class TeamApiDAO implements TeamDAO {
      */
     @Override
     public Team getTeamByName(String name) throws PersistanceException {
+        CompletableFuture<List<Character>> allCharacters = characterApiDAO.loadAllCharactersAsync();
+
+        TeamPrint teamPrint = findTeamPrint(name);
+        if (teamPrint == null) return null;
+
+        // Convert to Team object with characters and strategies
+        return buildTeam(teamPrint, resolveCharacters(List.of(teamPrint), allCharacters));
+    }
+
+    /**
+     * Retrieves a team by its name from the API, without requesting the characters of its members.
+     *
+     * @param name The name of the team to retrieve
+     * @return The TeamPrint object if found, null otherwise
+     * @throws PersistanceException if there's an error fetching the team from the API
+     */
+    private TeamPrint findTeamPrint(String name) throws PersistanceException {
         try {
             ApiHelper apiHelper = new ApiHelper();
 
             String json = apiHelper.getFromUrl(BASE_URL + "?name=" + name);
-            TeamPrint teamPrint;
             // Parse JSON response
             if (json.trim().startsWith("[")) {
                 List<TeamPrint> teamPrints = gson.fromJson(json, new TypeToken<List<TeamPrint>>() {}.getType());
                 if (teamPrints.isEmpty()) return null;
-                teamPrint = teamPrints.getFirst();
-            } else {
-                teamPrint = gson.fromJson(json, TeamPrint.class);
+                return teamPrints.getFirst();
             }
-
-            // Convert to Team object with characters and strategies
-            CharacterApiDAO characterApiDAO = new CharacterApiDAO();
-            List<Member> finalMembers = new ArrayList<>();
-
-            for (MemberPrint memberPrint : teamPrint.getMembers()) {
-                Character character = characterApiDAO.getCharacterById(memberPrint.getId());
-                CombatStrategy strategy = StrategyFactory.createStrategyByName(memberPrint.getStrategy());
-                finalMembers.add(new Member(memberPrint.getId(), character, strategy));
-            }
-
-            Team team = new Team(teamPrint.getName());
-            team.setMembers(finalMembers);
-            return team;
+            return gson.fromJson(json, TeamPrint.class);
 
         } catch (IncorrectRequestException e) {
             if (e.getStatusCode() == 404) {
@@ -144,6 +186,7 @@ public class TeamApiDAO implements TeamDAO {
 
     /**
      * Retrieves a list of team names that contain a specific character.
+     * Only the ids of the members are compared, so no character is requested to the API.
      *
      * @param characterId The ID of the character
      * @return A list of team names containing the specified character
@@ -152,12 +195,11 @@ public class TeamApiDAO implements TeamDAO {
     @Override
     public List<String> getTeamsNamesWithCharacter(long characterId) throws PersistanceException {
         List<String> teamNames = new ArrayList<>();
-        List<Team> teams = loadTeams();
 
-        for (Team team : teams) {
-            for (Member member : team.getMembers()) {
-                if (member.getCharacterId() == characterId) {
-                    teamNames.add(team.getName());
+        for (TeamPrint teamPrint : loadTeamPrints()) {
+            for (MemberPrint member : teamPrint.getMembers()) {
+                if (member.getId() == characterId) {
+                    teamNames.add(teamPrint.getName());
                     break;
                 }
             }
@@ -201,7 +243,7 @@ public class TeamApiDAO implements TeamDAO {
     }
 
     /**
-     * Checks if a team with the specified name exists.
+     * Checks if a team with the specified name exists, without requesting the characters of its members.
      *
      * @param teamName The name of the team to check
      * @return true if the team exists, false otherwise
@@ -209,51 +251,80 @@ public class TeamApiDAO implements TeamDAO {
      */
     @Override
     public boolean exists(String teamName) throws PersistanceException {
-        return getTeamByName(teamName) != null;
+        return findTeamPrint(teamName) != null;
     }
 
     /**
-     * Matches character information with teams loaded from the API.
+     * Resolves the characters of all the members of the given teams with a single request.
      *
-     * @return An ArrayList of Team objects with full character information
-     * @throws PersistanceException if there's an error fetching teams or characters from the API
+     * @param teamPrints    The teams whose members have to be resolved
+     * @param allCharacters The request for all the characters, already started
+     * @return A map from character id to character, only with the ids used by the teams
+     * @throws PersistanceException if there's an error fetching the characters from the API
      */
-    private ArrayList<Team> matchCharacterTeam() throws PersistanceException {
-        // Load the teams from the API
-        ArrayList<Team> teams = loadTeams();
-        if (teams == null) {
-            return new ArrayList<>();
+    private Map<Long, Character> resolveCharacters(List<TeamPrint> teamPrints,
+                                                   CompletableFuture<List<Character>> allCharacters) throws PersistanceException {
+        Set<Long> ids = new HashSet<>();
+        for (TeamPrint teamPrint : teamPrints) {
+            for (MemberPrint memberPrint : teamPrint.getMembers()) {
+                ids.add(memberPrint.getId());
+            }
         }
-        CharacterApiDAO characterApiDAO = new CharacterApiDAO();
 
-        // For each team, update its members with full Character information
-        for (Team team : teams) {
-            List<Member> finalMembers = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
 
-            for (Member member : team.getMembers()) {
-                // If no character is linked, skip this member
-                if (member.getCharacterId() == 0) {
-                    continue;
-                }
-                // Retrieve the character via the API
-                Character character = characterApiDAO.getCharacterById(member.getCharacterId());
-                if (character == null) {
-                    continue;
-                }
+        return charactersWithIds(ids, ApiRequestExecutor.join(allCharacters));
+    }
 
-                CombatStrategy strategy = StrategyFactory.createStrategyByName(member.getStrategyName());
+    /**
+     * Selects the characters with the given ids.
+     *
+     * @param ids           The ids of the characters used by the teams
+     * @param allCharacters All the characters of the API
+     * @return A map from character id to character, only with the given ids
+     */
+    private Map<Long, Character> charactersWithIds(Set<Long> ids, List<Character> allCharacters) {
+        Map<Long, Character> characters = new HashMap<>();
+        for (Character character : allCharacters) {
+            if (ids.contains(character.getId())) {
+                characters.putIfAbsent(character.getId(), character);
+            }
+        }
+        return characters;
+    }
 
-                Member newMember = new Member(member.getCharacterId(), character, strategy);
-                finalMembers.add(newMember);
+    /**
+     * Builds a Team with full character information from its TeamPrint.
+     * Members without a character or whose character doesn't exist are skipped.
+     *
+     * @param teamPrint  The team read from the API
+     * @param characters The resolved characters by id
+     * @return The Team object with its members
+     */
+    private Team buildTeam(TeamPrint teamPrint, Map<Long, Character> characters) {
+        List<Member> finalMembers = new ArrayList<>();
+
+        for (MemberPrint memberPrint : teamPrint.getMembers()) {
+            // If no character is linked, skip this member
+            Character character = characters.get(memberPrint.getId());
+            if (memberPrint.getId() == 0 || character == null) {
+                continue;
             }
 
-            team.setMembers(finalMembers);
+            CombatStrategy strategy = StrategyFactory.createStrategyByName(memberPrint.getStrategy());
+            finalMembers.add(new Member(memberPrint.getId(), character, strategy));
         }
-        return teams;
+
+        Team team = new Team(teamPrint.getName());
+        team.setMembers(finalMembers);
+        return team;
     }
 
     /**
      * Finds a team by its index position in the list.
+     * Only the characters of the members of the selected team are resolved.
      *
      * @param index The index (0-based) of the team in the list
      * @return The Team object if found
@@ -261,12 +332,36 @@ public class TeamApiDAO implements TeamDAO {
      */
     @Override
     public Team findTeamByIndex(int index) throws PersistanceException {
-        List<Team> teams = matchCharacterTeam();
-        return teams.get(index);
+        CompletableFuture<List<Character>> allCharacters = characterApiDAO.loadAllCharactersAsync();
+
+        TeamPrint teamPrint = loadTeamPrints().get(index);
+        return buildTeam(teamPrint, resolveCharacters(List.of(teamPrint), allCharacters));
+    }
+
+    /**
+     * Finds a team by its index position in the list on virtual threads.
+     * The teams and the characters are requested at the same time and the team is built when both
+     * arrive, so no request waits for another one while it holds one of the in-flight permits.
+     *
+     * @param index The index (0-based) of the team in the list
+     * @return A future with the Team object
+     */
+    @Override
+    public CompletableFuture<Team> findTeamByIndexAsync(int index) {
+        CompletableFuture<List<Character>> allCharacters = characterApiDAO.loadAllCharactersAsync();
+        CompletableFuture<TeamPrint> teamPrint = ApiRequestExecutor.supplyAsync(() -> loadTeamPrints().get(index));
+
+        return teamPrint.thenCombine(allCharacters, (print, characters) -> {
+            Set<Long> ids = new HashSet<>();
+            for (MemberPrint memberPrint : print.getMembers()) {
+                ids.add(memberPrint.getId());
+            }
+            return buildTeam(print, charactersWithIds(ids, characters));
+        });
     }
 
     /**
-     * Loads the names of all teams from the API.
+     * Loads the names of all teams from the API, without requesting the characters of the members.
      *
      * @return A list of team names
      * @throws PersistanceException if there's an error fetching teams from the API
@@ -274,9 +369,8 @@ public class TeamApiDAO implements TeamDAO {
     @Override
     public List<String> loadTeamNames() throws PersistanceException {
         List<String> teamNames = new ArrayList<>();
-        List<Team> teams = loadTeams();
-        for (Team team : teams) {
-            teamNames.add(team.getName());
+        for (TeamPrint teamPrint : loadTeamPrints()) {
+            teamNames.add(teamPrint.getName());
         }
         return teamNames;
     }
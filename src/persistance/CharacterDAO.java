@@ -3,6 +3,7 @@ package persistance;
 import business.entities.Character;
 import persistance.exceptions.PersistanceException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for managing character data persistence.
@@ -18,6 +19,20 @@ public interface CharacterDAO {
      */
     List<Character> loadAllCharacters() throws PersistanceException;
 
+    /**
+     * Loads all characters from the persistence source without blocking the caller.
+     * By default the characters are loaded on the calling thread and an already completed future is returned.
+     *
+     * @return {@code CompletableFuture<List<Character>>}. A future with all available characters,
+     *         completed exceptionally with a PersistanceException if an error occurs during loading.
+     */
+    default CompletableFuture<List<Character>> loadAllCharactersAsync() {
+        try {
+            return CompletableFuture.completedFuture(loadAllCharacters());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
     /**
      * Retrieves a character by its unique ID.
@@ -0,0 +1,119 @@
+package persistance;
+
+import business.entities.Armor;
+import business.entities.Item;
+import business.entities.Weapon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable in-memory catalog of all the items of a persistence source.
+ * The items are loaded once and partitioned into weapons and armors, so a random draw
+ * is a single random index without any I/O or allocation. The catalog always hands out
+ * the same shared item instance for each item, since items are immutable definitions.
+ */
+public class ItemCatalog {
+    //names of all the items in the order of the persistence source
+    private final List<String> itemNames;
+
+    //items indexed by their lower-case name, the first item wins if a name is repeated
+    private final Map<String, Item> itemsByName;
+
+    //all the weapons and super weapons
+    private final Weapon[] weapons;
+
+    //all the armors and super armors
+    private final Armor[] armors;
+
+    /**
+     * Constructs the catalog from all the items of a persistence source.
+     *
+     * @param items The items in the order of the persistence source.
+     */
+    public ItemCatalog(List<Item> items) {
+        List<String> names = new ArrayList<>();
+        List<Weapon> weaponList = new ArrayList<>();
+        List<Armor> armorList = new ArrayList<>();
+        this.itemsByName = new HashMap<>();
+
+        for (Item item : items) {
+            names.add(item.getName());
+            itemsByName.putIfAbsent(item.getName().toLowerCase(Locale.ROOT), item);
+
+            if (item instanceof Weapon weapon) {
+                weaponList.add(weapon);
+            } else if (item instanceof Armor armor) {
+                armorList.add(armor);
+            }
+        }
+
+        this.itemNames = Collections.unmodifiableList(names);
+        this.weapons = weaponList.toArray(new Weapon[0]);
+        this.armors = armorList.toArray(new Armor[0]);
+    }
+
+    /**
+     * Retrieves a random weapon of the catalog.
+     *
+     * @param random The random number generator used to select the weapon.
+     * @return A shared Weapon, or null if the catalog has no weapons.
+     */
+    public Weapon getRandomWeapon(RandomGenerator random) {
+        if (weapons.length == 0) return null;
+        return weapons[random.nextInt(weapons.length)];
+    }
+
+    /**
+     * Retrieves a random armor of the catalog.
+     *
+     * @param random The random number generator used to select the armor.
+     * @return A shared Armor, or null if the catalog has no armors.
+     */
+    public Armor getRandomArmor(RandomGenerator random) {
+        if (armors.length == 0) return null;
+        return armors[random.nextInt(armors.length)];
+    }
+
+    /**
+     * Retrieves all the weapons and super weapons of the catalog, including the ones with a repeated name.
+     *
+     * @return {@code List<Weapon>}. An unmodifiable list with the shared weapons in the order of the persistence source.
+     */
+    public List<Weapon> getWeapons() {
+        return List.of(weapons);
+    }
+
+    /**
+     * Retrieves all the armors and super armors of the catalog, including the ones with a repeated name.
+     *
+     * @return {@code List<Armor>}. An unmodifiable list with the shared armors in the order of the persistence source.
+     */
+    public List<Armor> getArmors() {
+        return List.of(armors);
+    }
+
+    /**
+     * Retrieves the names of all the items of the catalog.
+     *
+     * @return {@code List<String>}. An unmodifiable list with the item names.
+     */
+    public List<String> getItemNames() {
+        return itemNames;
+    }
+
+    /**
+     * Retrieves an item by its name, ignoring case.
+     *
+     * @param name The name of the item.
+     * @return The shared Item if found, otherwise null.
+     */
+    public Item getItemByName(String name) {
+        return itemsByName.get(name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -6,6 +6,7 @@ import business.entities.Weapon;
 import persistance.exceptions.PersistanceException;
 
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Interface for managing item data persistence.
@@ -16,18 +17,20 @@ public interface ItemDAO {
     /**
      * Retrieves a random weapon from the persistence source.
      *
+     * @param random The random number generator used to select the weapon.
      * @return Weapon A randomly selected weapon object.
      * @throws PersistanceException If an error occurs during retrieval.
      */
-    Weapon getRandomWeapon() throws PersistanceException;
+    Weapon getRandomWeapon(RandomGenerator random) throws PersistanceException;
 
     /**
      * Retrieves a random armor from the persistence source.
      *
+     * @param random The random number generator used to select the armor.
      * @return Armor A randomly selected armor object.
      * @throws PersistanceException If an error occurs during retrieval.
      */
-    Armor getRandomArmor() throws PersistanceException;
+    Armor getRandomArmor(RandomGenerator random) throws PersistanceException;
 
     /**
      * Retrieves a list of all item names stored in the system.
@@ -1,5 +1,6 @@
 package persistance;
 
+import business.entities.CombatResult;
 import business.entities.Statistics;
 import persistance.exceptions.PersistanceException;
 import java.util.ArrayList;
@@ -7,7 +8,7 @@ import java.util.List;
 
 /**
  * Interface for managing game statistics persistence.
- * Defines methods for loading and saving statistics data.
+ * Defines methods for loading and saving statistics data, and for recording the result of a single combat.
  */
 public interface StatisticsDAO {
 
@@ -26,4 +27,31 @@ public interface StatisticsDAO {
      * @throws PersistanceException If an error occurs during saving.
      */
     void saveStatistics(List<Statistics> statistics) throws PersistanceException;
+
+    /**
+     * Records the result of a combat in the persistence source.
+     * Sources that can append the result without rewriting the stored statistics override this method,
+     * the default implementation loads all the statistics, updates them and saves them again.
+     *
+     * @param result The result of the combat.
+     * @throws PersistanceException If an error occurs during saving.
+     */
+    default void appendCombatResult(CombatResult result) throws PersistanceException {
+        List<Statistics> statistics = loadStatistics();
+        result.applyTo(statistics);
+        saveStatistics(statistics);
+    }
+
+    /**
+     * Records the results of several combats in the persistence source.
+     * The default implementation records them one by one.
+     *
+     * @param results The results of the combats, in the order they were recorded.
+     * @throws PersistanceException If an error occurs during saving.
+     */
+    default void appendCombatResults(List<CombatResult> results) throws PersistanceException {
+        for (CombatResult result : results) {
+            appendCombatResult(result);
+        }
+    }
 }
@@ -6,6 +6,7 @@ import persistance.exceptions.PersistanceException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for managing team data persistence.
@@ -21,6 +22,15 @@ public interface TeamDAO {
      */
     ArrayList<Team> loadTeams() throws PersistanceException;
 
+    /**
+     * Loads all teams from the persistence source as stored, with the ids and strategies of their members,
+     * without resolving any character.
+     *
+     * @return {@code List<TeamPrint>} A list of all stored teams.
+     * @throws PersistanceException If an error occurs during loading.
+     */
+    List<TeamPrint> loadTeamPrints() throws PersistanceException;
+
     /**
      * Saves a new team to the persistence source.
      *
@@ -81,6 +91,22 @@ public interface TeamDAO {
      */
     Team findTeamByIndex(int index) throws PersistanceException;
 
+    /**
+     * Retrieves a team by its index position in the list without blocking the caller.
+     * By default the team is retrieved on the calling thread and an already completed future is returned.
+     *
+     * @param index The index (0-based) of the team in the list.
+     * @return {@code CompletableFuture<Team>} A future with the corresponding team object,
+     *         completed exceptionally if an error occurs during retrieval.
+     */
+    default CompletableFuture<Team> findTeamByIndexAsync(int index) {
+        try {
+            return CompletableFuture.completedFuture(findTeamByIndex(index));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Loads the names of all teams in the system.
      *
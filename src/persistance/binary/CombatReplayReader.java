@@ -0,0 +1,182 @@
+package persistance.binary;
+
+import business.entities.CombatReplay;
+import persistance.exceptions.PersistanceException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the combats of a replay file written by CombatReplayWriter, one at a time,
+ * so files with millions of combats never have to fit in memory.
+ */
+public class CombatReplayReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    //events of the combat being read, from its start
+    private final ByteArrayOutputStream events = new ByteArrayOutputStream();
+
+    /**
+     * Opens a replay file and checks its header.
+     *
+     * @param path The path of the replay file.
+     * @throws PersistanceException If the file can't be read or is not a replay file.
+     */
+    public CombatReplayReader(String path) throws PersistanceException {
+        this.path = path;
+        try {
+            this.channel = FileChannel.open(Path.of(path), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't open replay file: " + path, e);
+        }
+        buffer.flip();
+
+        boolean valid = false;
+        try {
+            valid = fill(5) && buffer.getInt() == ReplayFormat.MAGIC && buffer.get() == ReplayFormat.VERSION;
+        } finally {
+            if (!valid) {
+                closeQuietly();
+            }
+        }
+        if (!valid) {
+            throw new PersistanceException("Not a replay file of version " + ReplayFormat.VERSION + ": " + path);
+        }
+    }
+
+    /**
+     * Reads the next combat of the file.
+     * A combat that is not completely written is ignored, since it can only be the last one of a file
+     * whose writer was not closed.
+     *
+     * @return The next combat, or null if there are no more complete combats.
+     * @throws PersistanceException If the file can't be read or an event is not valid.
+     */
+    public CombatReplay next() throws PersistanceException {
+        events.reset();
+
+        if (!fill(1 + 8 + 2)) {
+            return null;
+        }
+        byte tag = copy(1).get();
+        if (tag != ReplayFormat.COMBAT_START) {
+            throw new PersistanceException("Malformed replay file: " + path);
+        }
+        long seed = copy(8).getLong();
+        String team1 = readName();
+        String team2 = readName();
+        if (team1 == null || team2 == null) {
+            return null;
+        }
+
+        while (true) {
+            if (!fill(1)) {
+                return null;
+            }
+            tag = copy(1).get();
+            int size = ReplayFormat.fieldsSize(tag);
+            if (size < 0) {
+                throw new PersistanceException("Malformed replay file: " + path);
+            }
+            if (!fill(size)) {
+                return null;
+            }
+            copy(size);
+
+            if (tag == ReplayFormat.COMBAT_END) {
+                return new CombatReplay(seed, team1, team2, events.toByteArray());
+            }
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws PersistanceException If the file can't be closed.
+     */
+    @Override
+    public void close() throws PersistanceException {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't close replay file: " + path, e);
+        }
+    }
+
+    /**
+     * Closes the file of a reader that could not be opened, ignoring any error since the file was only read.
+     */
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            //nothing was written, so the error does not lose anything
+        }
+    }
+
+    /**
+     * Reads the name of a team, with its length.
+     *
+     * @return The name, or null if the file ends before it.
+     * @throws PersistanceException If the file can't be read.
+     */
+    private String readName() throws PersistanceException {
+        if (!fill(2)) {
+            return null;
+        }
+        int length = Short.toUnsignedInt(copy(2).getShort());
+        if (!fill(length)) {
+            return null;
+        }
+        return StandardCharsets.UTF_8.decode(copy(length)).toString();
+    }
+
+    /**
+     * Copies the next bytes of the buffer to the events of the current combat.
+     *
+     * @param bytes The number of bytes, already in the buffer.
+     * @return A view of the copied bytes, to read their values.
+     */
+    private ByteBuffer copy(int bytes) {
+        ByteBuffer view = buffer.slice(buffer.position(), bytes);
+        events.write(buffer.array(), buffer.arrayOffset() + buffer.position(), bytes);
+        buffer.position(buffer.position() + bytes);
+        return view;
+    }
+
+    /**
+     * Reads from the file until the buffer has at least the given number of bytes.
+     *
+     * @param bytes The number of bytes needed.
+     * @return true if the bytes are available, false if the file ends before.
+     * @throws PersistanceException If the file can't be read.
+     */
+    private boolean fill(int bytes) throws PersistanceException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't read replay file: " + path, e);
+        } finally {
+            buffer.flip();
+        }
+        return buffer.remaining() >= bytes;
+    }
+}
@@ -0,0 +1,302 @@
+package persistance.binary;
+
+import business.CombatListener;
+import business.entities.Item;
+import business.entities.Member;
+import business.entities.Team;
+import business.entities.Weapon;
+import persistance.exceptions.PersistanceException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the events of the combats in the binary replay format described in ReplayFormat.
+ * The events are encoded into a buffer that is written to the channel only when it is full or the writer
+ * is closed, and an attack only takes 9 bytes, so millions of combats can be recorded.
+ * A writer keeps the members of its current combat, so it must not be shared between threads.
+ */
+public class CombatReplayWriter implements CombatListener, Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    //largest event with a fixed size, tag included
+    private static final int MAX_FIXED_EVENT = 11;
+
+    //size of the start of a combat without the team names: tag, seed and the two name lengths
+    private static final int COMBAT_START_FIXED = 1 + 8 + 2 + 2;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    //position of every member of the current combat
+    private final Map<Member, Integer> positions = new IdentityHashMap<>();
+
+    //number of rounds of the current combat
+    private int rounds;
+
+    /**
+     * Constructs a writer that records the combats in the given channel, without the header of a replay file.
+     *
+     * @param channel The channel the events are written to.
+     */
+    public CombatReplayWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a replay file to add combats at its end, writing its header if the file is new.
+     *
+     * @param path The path of the replay file.
+     * @return The writer of the file.
+     * @throws PersistanceException If the file can't be opened, or it is not a replay file of the current version.
+     */
+    public static CombatReplayWriter open(String path) throws PersistanceException {
+        try {
+            Path file = Path.of(path);
+            if (Files.exists(file) && Files.size(file) > 0 && !hasCurrentHeader(file)) {
+                throw new PersistanceException("Not a replay file of version " + ReplayFormat.VERSION + ": " + path);
+            }
+
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            CombatReplayWriter writer = new CombatReplayWriter(channel);
+            if (channel.size() == 0) {
+                writer.buffer.putInt(ReplayFormat.MAGIC);
+                writer.buffer.put(ReplayFormat.VERSION);
+            }
+            return writer;
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't open replay file: " + path, e);
+        }
+    }
+
+    /**
+     * Checks if an existing file starts with the header of the current version, so the new combats can be added.
+     *
+     * @param file The path of the file.
+     * @return true if the file has the magic number and the current version, false otherwise.
+     * @throws IOException If the file can't be read.
+     */
+    private static boolean hasCurrentHeader(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(5);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+        }
+        header.flip();
+        return header.remaining() == 5 && header.getInt() == ReplayFormat.MAGIC && header.get() == ReplayFormat.VERSION;
+    }
+
+    /**
+     * Records the start of a combat with its seed and the names of the teams.
+     * The whole event must fit in the buffer, which also keeps every name length within the unsigned
+     * short of the format, and every member must have a position the format can encode.
+     *
+     * @param seed  The seed of the random number generator of the combat.
+     * @param team1 The first team.
+     * @param team2 The second team.
+     * @throws PersistanceException If the names of the teams are too long or there are too many members to be recorded.
+     */
+    @Override
+    public void onCombatStart(long seed, Team team1, Team team2) {
+        int members = team1.getMembers().size() + team2.getMembers().size();
+        if (members > ReplayFormat.MAX_MEMBERS) {
+            throw new PersistanceException("Too many members to record the combat: " + members
+                    + ", the maximum is " + ReplayFormat.MAX_MEMBERS);
+        }
+
+        byte[] name1 = team1.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] name2 = team2.getName().getBytes(StandardCharsets.UTF_8);
+        int size = COMBAT_START_FIXED + name1.length + name2.length;
+        if (size > BUFFER_SIZE) {
+            throw new PersistanceException("Team names too long to record the combat: "
+                    + (name1.length + name2.length) + " bytes, the maximum is " + (BUFFER_SIZE - COMBAT_START_FIXED));
+        }
+
+        positions.clear();
+        addPositions(team1.getMembers());
+        addPositions(team2.getMembers());
+        rounds = 0;
+
+        reserve(size);
+        buffer.put(ReplayFormat.COMBAT_START);
+        buffer.putLong(seed);
+        buffer.putShort((short) name1.length).put(name1);
+        buffer.putShort((short) name2.length).put(name2);
+    }
+
+    /**
+     * Records the start of a round.
+     *
+     * @param round The number of the round.
+     * @param team1 The first team.
+     * @param team2 The second team.
+     */
+    @Override
+    public void onRoundStart(int round, Team team1, Team team2) {
+        rounds = round;
+        reserve(MAX_FIXED_EVENT);
+        buffer.put(ReplayFormat.ROUND_START);
+    }
+
+    /**
+     * Records an attack with the damage the defender receives.
+     *
+     * @param attacker The member performing the attack.
+     * @param defender The member being attacked.
+     * @param attack   The attack value, not recorded since it only depends on the attacker.
+     * @param damage   The damage the defender receives.
+     */
+    @Override
+    public void onAttack(Member attacker, Member defender, double attack, double damage) {
+        reserve(MAX_FIXED_EVENT);
+        buffer.put(ReplayFormat.ATTACK);
+        buffer.putShort(positionOf(attacker));
+        buffer.putShort(positionOf(defender));
+        buffer.putFloat((float) damage);
+    }
+
+    /**
+     * Records that a member will defend in the next turn.
+     *
+     * @param member The defending member.
+     */
+    @Override
+    public void onDefend(Member member) {
+        reserve(MAX_FIXED_EVENT);
+        buffer.put(ReplayFormat.DEFEND);
+        buffer.putShort(positionOf(member));
+    }
+
+    /**
+     * Records the weapon equipped by a member after requesting one.
+     *
+     * @param member The member that requested a weapon.
+     */
+    @Override
+    public void onWeaponRequest(Member member) {
+        reserve(MAX_FIXED_EVENT);
+        buffer.put(ReplayFormat.WEAPON_REQUEST);
+        buffer.putShort(positionOf(member));
+        buffer.putLong(member.getWeapon() != null ? member.getWeapon().getId() : -1);
+    }
+
+    /**
+     * Records that an item of a member breaks.
+     *
+     * @param member The member that had the item equipped.
+     * @param item   The broken item.
+     */
+    @Override
+    public void onItemBreak(Member member, Item item) {
+        reserve(MAX_FIXED_EVENT);
+        buffer.put(ReplayFormat.ITEM_BREAK);
+        buffer.putShort(positionOf(member));
+        buffer.put(item instanceof Weapon ? ReplayFormat.WEAPON : ReplayFormat.ARMOR);
+    }
+
+    /**
+     * Records that a member is knocked out.
+     *
+     * @param member The knocked out member.
+     */
+    @Override
+    public void onKO(Member member) {
+        reserve(MAX_FIXED_EVENT);
+        buffer.put(ReplayFormat.KO);
+        buffer.putShort(positionOf(member));
+    }
+
+    /**
+     * Records the end of a combat with its winner and number of rounds.
+     *
+     * @param winner The winning team, or null if it's a tie.
+     * @param team1  The first team.
+     * @param team2  The second team.
+     */
+    @Override
+    public void onCombatEnd(Team winner, Team team1, Team team2) {
+        reserve(MAX_FIXED_EVENT);
+        buffer.put(ReplayFormat.COMBAT_END);
+        buffer.put((byte) (winner == null ? 0 : (winner == team1 ? 1 : 2)));
+        buffer.putInt(rounds);
+    }
+
+    /**
+     * Writes the buffered events to the channel.
+     *
+     * @throws PersistanceException If the events can't be written.
+     */
+    public void flush() throws PersistanceException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't write replay: " + e.getMessage(), e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Writes the buffered events and closes the channel.
+     *
+     * @throws PersistanceException If the events can't be written or the channel can't be closed.
+     */
+    @Override
+    public void close() throws PersistanceException {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't close replay: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the buffered events if there is not enough space for the next event.
+     *
+     * @param bytes The size of the next event.
+     */
+    private void reserve(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Assigns the next positions to the members of a team.
+     *
+     * @param members The members of the team.
+     */
+    private void addPositions(List<Member> members) {
+        for (Member member : members) {
+            positions.put(member, positions.size());
+        }
+    }
+
+    /**
+     * Returns the position of a member of the current combat.
+     *
+     * @param member The member.
+     * @return The position of the member as an unsigned short, the members of the first team first.
+     */
+    private short positionOf(Member member) {
+        return positions.get(member).shortValue();
+    }
+}
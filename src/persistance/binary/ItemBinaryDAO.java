@@ -0,0 +1,344 @@
+package persistance.binary;
+
+import business.entities.Armor;
+import business.entities.Item;
+import business.entities.SuperArmor;
+import business.entities.SuperWeapon;
+import business.entities.Weapon;
+import persistance.ItemDAO;
+import persistance.exceptions.PersistanceException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implementation of ItemDAO that reads the items from a memory-mapped columnar binary file.
+ * The file is converted once from the items JSON file, and again whenever the JSON file is newer.
+ * Every column has a fixed width, so an item is read directly from its position and a random draw or a
+ * search by name only touches a few pages of the file, without keeping the catalog in the heap.
+ * An item is read from the file the first time it is drawn or searched, and the same shared instance is
+ * returned after that, so only the items that are used are kept, and only once.
+ * The layout of the file, with all the values big-endian, is:
+ * <ul>
+ *     <li>header: MAGIC, VERSION, number of items and number of weapons (int each)</li>
+ *     <li>ids (long), powers (int) and durabilities (int) of every item, the weapons first</li>
+ *     <li>offsets of the names (int), one more than the number of items, the last one is the end of the names</li>
+ *     <li>positions of the items sorted by their lower-case name (int)</li>
+ *     <li>classes of the items (byte)</li>
+ *     <li>names of the items (UTF-8)</li>
+ * </ul>
+ */
+public class ItemBinaryDAO implements ItemDAO {
+
+    private static final String PATH = "data/items.bin";
+    private static final String JSON_PATH = "data/items.json";
+
+    //size of the items JSON file from which the binary file is used instead of the JSON file
+    private static final long LARGE_CATALOG_BYTES = 8L * 1024 * 1024;
+
+    static final int MAGIC = 0x44504954;
+    static final int VERSION = 1;
+
+    static final byte WEAPON = 0;
+    static final byte SUPER_WEAPON = 1;
+    static final byte ARMOR = 2;
+    static final byte SUPER_ARMOR = 3;
+
+    private static final int HEADER_SIZE = 16;
+
+    private final String path;
+    private final String jsonPath;
+    private volatile ByteBuffer file;
+
+    //number of items and of weapons, read from the header
+    private int count;
+    private int weaponCount;
+
+    //start of every column in the file
+    private int powersStart;
+    private int durabilitiesStart;
+    private int nameOffsetsStart;
+    private int nameIndexStart;
+    private int classesStart;
+    private int namesStart;
+
+    //items already read from the file, indexed by their position, null for the items not read yet
+    private AtomicReferenceArray<Item> itemCache;
+
+    /**
+     * Constructor for ItemBinaryDAO that uses the default binary and JSON files.
+     */
+    public ItemBinaryDAO() {
+        this(PATH, JSON_PATH);
+    }
+
+    /**
+     * Constructor for ItemBinaryDAO that uses the given files.
+     *
+     * @param path     The path of the binary file.
+     * @param jsonPath The path of the items JSON file the binary file is converted from.
+     */
+    public ItemBinaryDAO(String path, String jsonPath) {
+        this.path = path;
+        this.jsonPath = jsonPath;
+    }
+
+    /**
+     * Checks if the default items JSON file is large enough to read it through the binary file.
+     *
+     * @return true if the JSON file exists and is larger than LARGE_CATALOG_BYTES, false otherwise.
+     */
+    public static boolean isLargeCatalog() {
+        try {
+            return Files.size(Path.of(JSON_PATH)) > LARGE_CATALOG_BYTES;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves a random weapon from the binary file.
+     *
+     * @param random The random number generator used to select the weapon.
+     * @return Weapon A randomly selected weapon object, or null if there are no weapons.
+     * @throws PersistanceException If the binary file can't be created or read.
+     */
+    @Override
+    public Weapon getRandomWeapon(RandomGenerator random) throws PersistanceException {
+        ByteBuffer items = getFile();
+        if (weaponCount == 0) return null;
+        return (Weapon) getItem(items, random.nextInt(weaponCount));
+    }
+
+    /**
+     * Retrieves a random armor from the binary file.
+     *
+     * @param random The random number generator used to select the armor.
+     * @return Armor A randomly selected armor object, or null if there are no armors.
+     * @throws PersistanceException If the binary file can't be created or read.
+     */
+    @Override
+    public Armor getRandomArmor(RandomGenerator random) throws PersistanceException {
+        ByteBuffer items = getFile();
+        if (weaponCount == count) return null;
+        return (Armor) getItem(items, weaponCount + random.nextInt(count - weaponCount));
+    }
+
+    /**
+     * Retrieves the names of all the items, the weapons first.
+     * The names are read from the file every time they are accessed, so the list takes no memory.
+     *
+     * @return {@code List<String>}. An unmodifiable list with the item names.
+     * @throws PersistanceException If the binary file can't be created or read.
+     */
+    @Override
+    public List<String> getItemNames() throws PersistanceException {
+        ByteBuffer items = getFile();
+        return new ItemNames(items);
+    }
+
+    /**
+     * Retrieves an item by its name, ignoring case, with a binary search over the name index.
+     *
+     * @param name The name of the item.
+     * @return Item The corresponding item object if found, otherwise null.
+     * @throws PersistanceException If the binary file can't be created or read.
+     */
+    @Override
+    public Item getItemByName(String name) throws PersistanceException {
+        ByteBuffer items = getFile();
+        String key = name.toLowerCase(Locale.ROOT);
+
+        //first entry of the index whose name is not lower than the key
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (readName(items, indexedPosition(items, middle)).toLowerCase(Locale.ROOT).compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        if (low < count) {
+            int position = indexedPosition(items, low);
+            if (readName(items, position).toLowerCase(Locale.ROOT).equals(key)) {
+                return getItem(items, position);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if an item class is a weapon or a super weapon.
+     *
+     * @param itemClass The class byte of the item.
+     * @return true if the item is a weapon, false if it is an armor.
+     */
+    static boolean isWeapon(byte itemClass) {
+        return itemClass == WEAPON || itemClass == SUPER_WEAPON;
+    }
+
+    /**
+     * Returns the mapped binary file, converting and mapping it the first time it is needed.
+     *
+     * @return The mapped file.
+     * @throws PersistanceException If the binary file can't be created or read.
+     */
+    private ByteBuffer getFile() throws PersistanceException {
+        ByteBuffer mapped = file;
+        if (mapped == null) {
+            synchronized (this) {
+                mapped = file;
+                if (mapped == null) {
+                    mapped = mapFile();
+                    file = mapped;
+                }
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Converts the JSON file if the binary file does not exist or is older, and maps the binary file.
+     *
+     * @return The mapped file.
+     * @throws PersistanceException If the binary file can't be created or read, or it is not an items file.
+     */
+    private ByteBuffer mapFile() throws PersistanceException {
+        Path binFile = Path.of(path);
+        Path jsonFile = Path.of(jsonPath);
+
+        try {
+            if (!Files.exists(binFile)
+                    || (Files.exists(jsonFile) && Files.getLastModifiedTime(jsonFile).compareTo(Files.getLastModifiedTime(binFile)) > 0)) {
+                ItemFileConverter.convert(jsonPath, path);
+            }
+
+            ByteBuffer mapped;
+            try (FileChannel channel = FileChannel.open(binFile, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+
+            if (mapped.capacity() < HEADER_SIZE || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new PersistanceException("Not an items file: " + path);
+            }
+            count = mapped.getInt(8);
+            weaponCount = mapped.getInt(12);
+
+            powersStart = HEADER_SIZE + count * 8;
+            durabilitiesStart = powersStart + count * 4;
+            nameOffsetsStart = durabilitiesStart + count * 4;
+            nameIndexStart = nameOffsetsStart + (count + 1) * 4;
+            classesStart = nameIndexStart + count * 4;
+            namesStart = classesStart + count;
+            itemCache = new AtomicReferenceArray<>(count);
+            return mapped;
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't read items file: " + path, e);
+        }
+    }
+
+    /**
+     * Returns the shared item at a position of the file, reading it the first time it is needed.
+     * If two threads read the same item at the same time, both get the instance that was cached first.
+     *
+     * @param items    The mapped file.
+     * @param position The position of the item.
+     * @return The shared item with the values of the file.
+     */
+    private Item getItem(ByteBuffer items, int position) {
+        Item item = itemCache.get(position);
+        if (item == null) {
+            item = readItem(items, position);
+            if (!itemCache.compareAndSet(position, null, item)) {
+                item = itemCache.get(position);
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Reads the item at a position of the file.
+     *
+     * @param items    The mapped file.
+     * @param position The position of the item.
+     * @return A new item with the values of the file.
+     */
+    private Item readItem(ByteBuffer items, int position) {
+        long id = items.getLong(HEADER_SIZE + position * 8);
+        int power = items.getInt(powersStart + position * 4);
+        int durability = items.getInt(durabilitiesStart + position * 4);
+        String name = readName(items, position);
+
+        return switch (items.get(classesStart + position)) {
+            case WEAPON -> new Weapon(id, name, power, durability);
+            case SUPER_WEAPON -> new SuperWeapon(id, name, power, durability);
+            case ARMOR -> new Armor(id, name, power, durability);
+            default -> new SuperArmor(id, name, power, durability);
+        };
+    }
+
+    /**
+     * Reads the name of the item at a position of the file.
+     *
+     * @param items    The mapped file.
+     * @param position The position of the item.
+     * @return The name of the item.
+     */
+    private String readName(ByteBuffer items, int position) {
+        int start = items.getInt(nameOffsetsStart + position * 4);
+        int end = items.getInt(nameOffsetsStart + (position + 1) * 4);
+
+        byte[] name = new byte[end - start];
+        items.get(namesStart + start, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an entry of the name index.
+     *
+     * @param items The mapped file.
+     * @param index The entry of the index.
+     * @return The position of the item with the index-th name in alphabetical order.
+     */
+    private int indexedPosition(ByteBuffer items, int index) {
+        return items.getInt(nameIndexStart + index * 4);
+    }
+
+    /**
+     * List of the names of the items that reads every name from the file when it is accessed.
+     */
+    private class ItemNames extends AbstractList<String> implements RandomAccess {
+        private final ByteBuffer items;
+
+        private ItemNames(ByteBuffer items) {
+            this.items = items;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return readName(items, index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package persistance.binary;
+
+import com.google.gson.stream.JsonReader;
+import persistance.exceptions.PersistanceException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converts an items JSON file into the columnar binary file read by ItemBinaryDAO.
+ * The JSON file is read with a streaming reader into primitive columns, the weapons are moved before
+ * the armors and the name index is sorted, and the result is written to a temporary file that replaces
+ * the binary file at the end, so a failed conversion never leaves a partial file.
+ */
+final class ItemFileConverter {
+
+    private ItemFileConverter() {
+    }
+
+    /**
+     * Converts an items JSON file into a binary file.
+     *
+     * @param jsonPath The path of the items JSON file.
+     * @param binPath  The path of the binary file to write.
+     * @throws PersistanceException If the JSON file can't be read or the binary file can't be written.
+     */
+    static void convert(String jsonPath, String binPath) throws PersistanceException {
+        List<String> names = new ArrayList<>();
+        long[] ids = new long[1024];
+        int[] powers = new int[1024];
+        int[] durabilities = new int[1024];
+        byte[] classes = new byte[1024];
+        int count = 0;
+
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(Path.of(jsonPath), StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                    powers = Arrays.copyOf(powers, count * 2);
+                    durabilities = Arrays.copyOf(durabilities, count * 2);
+                    classes = Arrays.copyOf(classes, count * 2);
+                }
+
+                String name = null;
+                String itemType = null;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    switch (reader.nextName()) {
+                        case "id" -> ids[count] = reader.nextLong();
+                        case "name" -> name = reader.nextString();
+                        case "power" -> powers[count] = reader.nextInt();
+                        case "durability" -> durabilities[count] = reader.nextInt();
+                        case "class" -> itemType = reader.nextString();
+                        default -> reader.skipValue();
+                    }
+                }
+                reader.endObject();
+
+                if (name == null || itemType == null) {
+                    throw new PersistanceException("Item without name or class in: " + jsonPath);
+                }
+                classes[count] = classOf(itemType);
+                names.add(name);
+                count++;
+            }
+            reader.endArray();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new PersistanceException("Couldn't read items file: " + jsonPath, e);
+        }
+
+        write(binPath, count, ids, powers, durabilities, classes, names);
+    }
+
+    /**
+     * Writes the columns of the items to the binary file.
+     *
+     * @param binPath      The path of the binary file.
+     * @param count        The number of items.
+     * @param ids          The ids of the items, in the order of the JSON file.
+     * @param powers       The powers of the items, in the order of the JSON file.
+     * @param durabilities The durabilities of the items, in the order of the JSON file.
+     * @param classes      The classes of the items, in the order of the JSON file.
+     * @param names        The names of the items, in the order of the JSON file.
+     * @throws PersistanceException If the binary file can't be written.
+     */
+    private static void write(String binPath, int count, long[] ids, int[] powers, int[] durabilities,
+                              byte[] classes, List<String> names) throws PersistanceException {
+        //order of the items in the file: the weapons first, each group in the order of the JSON file
+        int[] order = new int[count];
+        int weaponCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (ItemBinaryDAO.isWeapon(classes[i])) {
+                order[weaponCount++] = i;
+            }
+        }
+        int next = weaponCount;
+        for (int i = 0; i < count; i++) {
+            if (!ItemBinaryDAO.isWeapon(classes[i])) {
+                order[next++] = i;
+            }
+        }
+
+        //names in the order of the file
+        byte[][] encodedNames = new byte[count][];
+        String[] lowerCaseNames = new String[count];
+        for (int position = 0; position < count; position++) {
+            String name = names.get(order[position]);
+            encodedNames[position] = name.getBytes(StandardCharsets.UTF_8);
+            lowerCaseNames[position] = name.toLowerCase(Locale.ROOT);
+        }
+
+        //positions sorted by name, a repeated name keeps the order of the JSON file
+        final int[] fileOrder = order;
+        Integer[] nameIndex = new Integer[count];
+        for (int position = 0; position < count; position++) {
+            nameIndex[position] = position;
+        }
+        Arrays.sort(nameIndex, Comparator.<Integer, String>comparing(position -> lowerCaseNames[position])
+                .thenComparingInt(position -> fileOrder[position]));
+
+        Path binFile = Path.of(binPath);
+        Path tempFile = Path.of(binPath + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+            out.writeInt(ItemBinaryDAO.MAGIC);
+            out.writeInt(ItemBinaryDAO.VERSION);
+            out.writeInt(count);
+            out.writeInt(weaponCount);
+
+            for (int position = 0; position < count; position++) {
+                out.writeLong(ids[order[position]]);
+            }
+            for (int position = 0; position < count; position++) {
+                out.writeInt(powers[order[position]]);
+            }
+            for (int position = 0; position < count; position++) {
+                out.writeInt(durabilities[order[position]]);
+            }
+
+            int nameOffset = 0;
+            out.writeInt(nameOffset);
+            for (int position = 0; position < count; position++) {
+                nameOffset += encodedNames[position].length;
+                out.writeInt(nameOffset);
+            }
+
+            for (int position = 0; position < count; position++) {
+                out.writeInt(nameIndex[position]);
+            }
+            for (int position = 0; position < count; position++) {
+                out.writeByte(classes[order[position]]);
+            }
+            for (int position = 0; position < count; position++) {
+                out.write(encodedNames[position]);
+            }
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't write items file: " + binPath, e);
+        }
+
+        try {
+            Files.move(tempFile, binFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't write items file: " + binPath, e);
+        }
+    }
+
+    /**
+     * Returns the class byte of an item type of the JSON file.
+     *
+     * @param itemType The class of the item in the JSON file.
+     * @return The class byte stored in the binary file.
+     * @throws PersistanceException If the item type is not valid.
+     */
+    private static byte classOf(String itemType) throws PersistanceException {
+        return switch (itemType) {
+            case "Weapon" -> ItemBinaryDAO.WEAPON;
+            case "Superweapon" -> ItemBinaryDAO.SUPER_WEAPON;
+            case "Armor" -> ItemBinaryDAO.ARMOR;
+            case "Superarmor" -> ItemBinaryDAO.SUPER_ARMOR;
+            default -> throw new PersistanceException("Invalid item type: " + itemType);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package persistance.binary;
+
+/**
+ * Constants of the binary replay format.
+ * A replay file starts with MAGIC and VERSION, followed by the combats one after the other.
+ * Every event is a one byte tag followed by its fields, all of them big-endian:
+ * <ul>
+ *     <li>COMBAT_START: seed (long), name of each team (unsigned short length and UTF-8 bytes)</li>
+ *     <li>ROUND_START: no fields</li>
+ *     <li>ATTACK: attacker (member), defender (member), damage received (float)</li>
+ *     <li>DEFEND: member (member)</li>
+ *     <li>WEAPON_REQUEST: member (member), id of the equipped weapon or -1 (long)</li>
+ *     <li>ITEM_BREAK: member (member), WEAPON or ARMOR (byte)</li>
+ *     <li>KO: member (member)</li>
+ *     <li>COMBAT_END: winner 0 for a tie, 1 or 2 (byte), number of rounds (int)</li>
+ * </ul>
+ * Members are identified by their position as an unsigned short, the members of the first team first, so a
+ * combat can have at most MAX_MEMBERS members. Version 1 stored the positions in a signed byte.
+ */
+final class ReplayFormat {
+    static final int MAGIC = 0x44505250;
+    static final byte VERSION = 2;
+
+    //number of positions an unsigned short can encode
+    static final int MAX_MEMBERS = 1 << 16;
+
+    static final byte COMBAT_START = 1;
+    static final byte ROUND_START = 2;
+    static final byte ATTACK = 3;
+    static final byte DEFEND = 4;
+    static final byte WEAPON_REQUEST = 5;
+    static final byte ITEM_BREAK = 6;
+    static final byte KO = 7;
+    static final byte COMBAT_END = 8;
+
+    static final byte WEAPON = 0;
+    static final byte ARMOR = 1;
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Returns the number of bytes after the tag of an event with a fixed size.
+     *
+     * @param tag The tag of the event.
+     * @return The size of the fields of the event, or -1 if the tag is not a fixed size event.
+     */
+    static int fieldsSize(byte tag) {
+        return switch (tag) {
+            case ROUND_START -> 0;
+            case ATTACK -> 8;
+            case DEFEND, KO -> 2;
+            case WEAPON_REQUEST -> 10;
+            case ITEM_BREAK -> 3;
+            case COMBAT_END -> 5;
+            default -> -1;
+        };
+    }
+}
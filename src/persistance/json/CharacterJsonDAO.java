@@ -2,25 +2,43 @@ package persistance.json;
 
 import business.entities.Character;
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
 import persistance.CharacterDAO;
 import persistance.exceptions.PersistanceException;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
 
 
 /**
  * Implementation of CharacterDAO for managing character data using JSON files.
  * Provides methods for validating, loading, and searching character data stored in a JSON file.
+ * The file is parsed once into an in-memory index that is rebuilt when the file is modified.
+ * A file larger than STREAMING_THRESHOLD_BYTES is never indexed: every lookup reads the file with a
+ * streaming reader and stops at the first match, so the memory used does not depend on the size of the file.
  */
 public class CharacterJsonDAO implements CharacterDAO {
 
     private static final String PATH = "data/characters.json"; // JSON file path
+
+    //size of the file from which the lookups read the file instead of building the index
+    private static final long STREAMING_THRESHOLD_BYTES = 32L * 1024 * 1024;
+
+    private final String path;
     private final Gson gson;
+    private volatile CharacterIndex index;
 
     //*************************************************
     //************ General functionalities ************
@@ -31,6 +49,16 @@ public class CharacterJsonDAO implements CharacterDAO {
      * Initializes the Gson instance for JSON processing.
      */
     public CharacterJsonDAO() {
+        this(PATH);
+    }
+
+    /**
+     * Constructor for CharacterJsonDAO that reads the characters from the given file.
+     *
+     * @param path The path of the characters JSON file.
+     */
+    public CharacterJsonDAO(String path) {
+        this.path = path;
         this.gson = new Gson();
     }
 
@@ -43,12 +71,101 @@ public class CharacterJsonDAO implements CharacterDAO {
      */
     @Override
     public List<Character> loadAllCharacters() throws PersistanceException {
+        if (isStreamed()) {
+            List<Character> characters = new ArrayList<>();
+            forEachCharacter(characters::add);
+            return characters;
+        }
+        return Arrays.asList(getIndex().characters.clone());
+    }
+
+    /**
+     * Checks if the file is too large to be indexed, so it has to be read for every lookup.
+     *
+     * @return true if the file is larger than STREAMING_THRESHOLD_BYTES, false otherwise.
+     * @throws PersistanceException If the file cannot be read.
+     */
+    private boolean isStreamed() throws PersistanceException {
         try {
-            JsonReader reader = new JsonReader(new FileReader(PATH));
-            Character[] charactersArray = gson.fromJson(reader, Character[].class);
-            return Arrays.asList(charactersArray);
+            return Files.size(Path.of(path)) > STREAMING_THRESHOLD_BYTES;
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't read characters file: " + path, e);
+        }
+    }
+
+    /**
+     * Reads the characters of the file one at a time with a streaming reader, without building the whole array.
+     *
+     * @param visitor Called with every character in file order, returns false to stop reading the file.
+     * @throws PersistanceException If the file cannot be read.
+     */
+    private void forEachCharacter(Predicate<Character> visitor) throws PersistanceException {
+        try (JsonReader reader = new JsonReader(new FileReader(path))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Character character = gson.fromJson(reader, Character.class);
+                if (!visitor.test(character)) {
+                    return;
+                }
+            }
+            reader.endArray();
+        } catch (IOException | IllegalStateException | JsonSyntaxException e) {
+            throw new PersistanceException("Couldn't read characters file: " + path, e);
+        }
+    }
+
+    /**
+     * Finds the first character of the file that matches a condition, reading the file with a streaming reader.
+     *
+     * @param matches The condition of the character.
+     * @return Character The first matching character, otherwise null.
+     * @throws PersistanceException If the file cannot be read.
+     */
+    private Character findFirst(Predicate<Character> matches) throws PersistanceException {
+        Character[] found = new Character[1];
+        forEachCharacter(character -> {
+            if (matches.test(character)) {
+                found[0] = character;
+                return false;
+            }
+            return true;
+        });
+        return found[0];
+    }
+
+    /**
+     * Returns the index of the characters file, parsing the file again only if it was modified
+     * since the index was built.
+     *
+     * @return CharacterIndex The index of the current content of the file.
+     * @throws PersistanceException If the file cannot be read.
+     */
+    private CharacterIndex getIndex() throws PersistanceException {
+        Path filePath = Path.of(path);
+        try {
+            FileTime lastModified = Files.getLastModifiedTime(filePath);
+            CharacterIndex current = index;
+            if (current == null || !current.lastModified.equals(lastModified)) {
+                synchronized (this) {
+                    current = index;
+                    if (current == null || !current.lastModified.equals(lastModified)) {
+                        current = new CharacterIndex(readCharacters(), lastModified);
+                        index = current;
+                    }
+                }
+            }
+            return current;
         } catch (IOException e) {
-            throw new PersistanceException("Couldn't read characters file: " + PATH, e);
+            throw new PersistanceException("Couldn't read characters file: " + path, e);
+        }
+    }
+
+    private Character[] readCharacters() throws IOException {
+        try (JsonReader reader = new JsonReader(new FileReader(path))) {
+            Character[] charactersArray = gson.fromJson(reader, Character[].class);
+            return charactersArray != null ? charactersArray : new Character[0];
+        } catch (JsonSyntaxException e) {
+            throw new PersistanceException("Malformed characters file: " + path, e);
         }
     }
 
@@ -67,17 +184,10 @@ public class CharacterJsonDAO implements CharacterDAO {
      */
     @Override
     public Character getCharacterById(long id) throws PersistanceException {
-        try (JsonReader reader = new JsonReader(new FileReader(PATH))) {
-            Character[] charactersArray = gson.fromJson(reader, Character[].class);
-            for (Character character : charactersArray) {
-                if (character.getId() == id) {
-                    return character; // Return the correct character by ID
-                }
-            }
-            return null;
-        } catch (IOException e) {
-            throw new PersistanceException("Couldn't read characters file: " + PATH, e);
+        if (isStreamed()) {
+            return findFirst(character -> character.getId() == id);
         }
+        return getIndex().findById(id);
     }
 
     /**
@@ -89,17 +199,11 @@ public class CharacterJsonDAO implements CharacterDAO {
      */
     @Override
     public Character getCharacterByName(String name) throws PersistanceException {
-        try (JsonReader reader = new JsonReader(new FileReader(PATH))) {
-            Character[] charactersArray = gson.fromJson(reader, Character[].class);
-            for (Character character : charactersArray) {
-                if (character.getName().equalsIgnoreCase(name)) {
-                    return character;
-                }
-            }
-            return null;
-        } catch (IOException e) {
-            throw new PersistanceException("Couldn't read characters file: " + PATH, e);
+        String key = name.toLowerCase(Locale.ROOT);
+        if (isStreamed()) {
+            return findFirst(character -> character.getName().toLowerCase(Locale.ROOT).equals(key));
         }
+        return getIndex().charactersByName.get(key);
     }
 
     /**
@@ -110,16 +214,15 @@ public class CharacterJsonDAO implements CharacterDAO {
      */
     @Override
     public List<String> getCharactersByNames() throws PersistanceException {
-        try (JsonReader reader = new JsonReader(new FileReader(PATH))) {
-            Character[] charactersArray = gson.fromJson(reader, Character[].class);
-            List<String> names = new ArrayList<>();
-            for (Character character : charactersArray) {
-                names.add(character.getName());
-            }
+        List<String> names = new ArrayList<>();
+        if (isStreamed()) {
+            forEachCharacter(character -> names.add(character.getName()));
             return names;
-        } catch (IOException e) {
-            throw new PersistanceException("Couldn't read characters file: " + PATH, e);
         }
+        for (Character character : getIndex().characters) {
+            names.add(character.getName());
+        }
+        return names;
     }
 
 
@@ -158,11 +261,64 @@ public class CharacterJsonDAO implements CharacterDAO {
      */
     public Character findCharacterByIndex(int index) throws PersistanceException {
         try {
-            List<Character> characters = loadAllCharacters();
-            return characters.get(index-1);
+            if (isStreamed()) {
+                int[] position = {0};
+                return index < 1 ? null : findFirst(character -> ++position[0] == index);
+            }
+            Character[] characters = getIndex().characters;
+            if (index < 1 || index > characters.length) {
+                return null;
+            }
+            return characters[index - 1];
         } catch (PersistanceException e) {
             return null;
         }
 
     }
+
+    /**
+     * Immutable index of the content of the characters file.
+     * It keeps the characters in file order, their ids sorted in a primitive array for binary
+     * search and a map by lower-case name. When an id or a name is repeated the first
+     * character of the file wins, like a linear search of the file would do.
+     */
+    private static class CharacterIndex {
+        private final Character[] characters;
+        private final long[] sortedIds;
+        private final Character[] charactersBySortedId;
+        private final Map<String, Character> charactersByName;
+        private final FileTime lastModified;
+
+        private CharacterIndex(Character[] characters, FileTime lastModified) {
+            this.characters = characters;
+            this.lastModified = lastModified;
+
+            // Stable sort, so the first character of the file stays first among repeated ids
+            Character[] byId = characters.clone();
+            Arrays.sort(byId, Comparator.comparingLong(Character::getId));
+
+            long[] ids = new long[byId.length];
+            Character[] unique = new Character[byId.length];
+            int size = 0;
+            for (Character character : byId) {
+                if (size == 0 || ids[size - 1] != character.getId()) {
+                    ids[size] = character.getId();
+                    unique[size] = character;
+                    size++;
+                }
+            }
+            this.sortedIds = Arrays.copyOf(ids, size);
+            this.charactersBySortedId = Arrays.copyOf(unique, size);
+
+            this.charactersByName = new HashMap<>();
+            for (Character character : characters) {
+                charactersByName.putIfAbsent(character.getName().toLowerCase(Locale.ROOT), character);
+            }
+        }
+
+        private Character findById(long id) {
+            int position = Arrays.binarySearch(sortedIds, id);
+            return position >= 0 ? charactersBySortedId[position] : null;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package persistance.json;
 import business.entities.*;
 import com.google.gson.*;
 import com.google.gson.stream.JsonReader;
+import persistance.ItemCatalog;
 import persistance.ItemDAO;
 import persistance.exceptions.PersistanceException;
 
@@ -10,72 +11,95 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Implementation of ItemDAO for managing item data using JSON files.
  * Provides methods for validating, retrieving, and randomly selecting items (weapons and armor).
+ * The file is read only once, the first time an item is needed, into an in-memory ItemCatalog
+ * that shares a single instance of every item.
  */
 public class ItemJsonDAO implements ItemDAO {
 
     private static final String PATH = "data/items.json";
+    private final String path;
     private final Gson gson;
-    private Random random;
+    private volatile ItemCatalog catalog;
 
     /**
      * Constructor for ItemJsonDAO.
-     * Initializes Gson with pretty printing and a Random instance for item selection.
+     * Initializes Gson with pretty printing.
      */
     public ItemJsonDAO() {
+        this(PATH);
+    }
+
+    /**
+     * Constructor for ItemJsonDAO that reads the items from the given file.
+     *
+     * @param path The path of the items JSON file.
+     */
+    public ItemJsonDAO(String path) {
+        this.path = path;
         this.gson = new GsonBuilder().setPrettyPrinting().create();
-        this.random = new Random();
     }
 
     /**
      * Retrieves a random weapon from the JSON file.
      *
+     * @param random The random number generator used to select the weapon.
      * @return Weapon A randomly selected weapon object.
      * @throws PersistanceException If an error occurs during retrieval.
      */
     @Override
-    public Weapon getRandomWeapon() throws PersistanceException {
-        return (Weapon) getRandomItem(List.of("Weapon", "Superweapon"));
+    public Weapon getRandomWeapon(RandomGenerator random) throws PersistanceException {
+        return getCatalog().getRandomWeapon(random);
     }
 
     /**
      * Retrieves a random armor from the JSON file.
      *
+     * @param random The random number generator used to select the armor.
      * @return Armor A randomly selected armor object.
      * @throws PersistanceException If an error occurs during retrieval.
      */
     @Override
-    public Armor getRandomArmor() throws PersistanceException {
-        return (Armor) getRandomItem(List.of("Armor", "Superarmor"));
+    public Armor getRandomArmor(RandomGenerator random) throws PersistanceException {
+        return getCatalog().getRandomArmor(random);
     }
 
+    /**
+     * Returns the item catalog, reading the JSON file the first time it is needed.
+     *
+     * @return ItemCatalog The catalog with all the items of the file.
+     * @throws PersistanceException If the JSON file cannot be read.
+     */
+    public ItemCatalog getCatalog() throws PersistanceException {
+        ItemCatalog loaded = catalog;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = catalog;
+                if (loaded == null) {
+                    loaded = loadCatalog();
+                    catalog = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
 
-    private Item getRandomItem(List<String> types) {
-        try (JsonReader reader = new JsonReader(new FileReader(PATH))) {
-            reader.beginArray();
-            Item selectedItem = null;
-            int count = 0;
-
-            while (reader.hasNext()) {
-                JsonObject jsonObject = JsonParser.parseReader(reader).getAsJsonObject();
-                String itemClass = jsonObject.get("class").getAsString();
+    private ItemCatalog loadCatalog() throws PersistanceException {
+        try (JsonReader reader = new JsonReader(new FileReader(path))) {
+            JsonArray jsonArray = JsonParser.parseReader(reader).getAsJsonArray();
+            List<Item> items = new ArrayList<>();
 
-                if (types.contains(itemClass)) {
-                    count++;
-                    if (random.nextInt(count) == 0) {
-                        selectedItem = parseItem(jsonObject);
-                    }
-                }
+            for (JsonElement element : jsonArray) {
+                items.add(parseItem(element.getAsJsonObject()));
             }
 
-            reader.endArray();
-            return selectedItem;
+            return new ItemCatalog(items);
         } catch (IOException e) {
-            throw new PersistanceException("Couldn't read items file: " + PATH, e);
+            throw new PersistanceException("Couldn't read items file: " + path, e);
         }
     }
 
@@ -104,23 +128,7 @@ public class ItemJsonDAO implements ItemDAO {
      */
     @Override
     public List<String> getItemNames() throws PersistanceException {
-        List<String> itemNames = new ArrayList<>();
-
-        try (JsonReader reader = new JsonReader(new FileReader(PATH))) {
-            JsonArray jsonArray = JsonParser.parseReader(reader).getAsJsonArray();
-
-            for (JsonElement element : jsonArray) {
-                JsonObject jsonObject = element.getAsJsonObject();
-                if (jsonObject.has("name")) {
-                    itemNames.add(jsonObject.get("name").getAsString());
-                }
-            }
-
-        } catch (IOException e) {
-            throw new PersistanceException("Couldn't read items file: " + PATH, e);
-        }
-
-        return itemNames;
+        return getCatalog().getItemNames();
     }
 
     /**
@@ -132,20 +140,7 @@ public class ItemJsonDAO implements ItemDAO {
      */
     @Override
     public Item getItemByName(String name) throws PersistanceException {
-        try (JsonReader reader = new JsonReader(new FileReader(PATH))) {
-            JsonArray jsonArray = JsonParser.parseReader(reader).getAsJsonArray();
-
-            for (JsonElement element : jsonArray) {
-                JsonObject jsonObject = element.getAsJsonObject();
-                if (jsonObject.has("name") && jsonObject.get("name").getAsString().equalsIgnoreCase(name)) {
-                    return parseItem(jsonObject);
-                }
-            }
-        } catch (IOException e) {
-            throw new PersistanceException("Couldn't read items file: " + PATH, e);
-        }
-
-        return null;
+        return getCatalog().getItemByName(name);
     }
 
 
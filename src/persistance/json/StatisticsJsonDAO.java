@@ -1,5 +1,6 @@
 package persistance.json;
 
+import business.entities.CombatResult;
 import business.entities.Statistics;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -8,73 +9,346 @@ import com.google.gson.stream.JsonReader;
 import persistance.StatisticsDAO;
 import persistance.exceptions.PersistanceException;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 /**
  * Implementation of StatisticsDAO for managing game statistics using JSON files.
  * This class handles reading from and writing to the stats.json file.
+ * The result of every combat is appended as one compact line to the stats.log file, so recording
+ * a combat never rewrites the stored statistics. Loading replays the log on top of stats.json,
+ * and saving compacts the log into stats.json and empties it.
+ * Compaction first renames the log to stats.log.N, writes stats.json with the generation N and only
+ * then deletes the renamed log, so after a crash at any step loading replays a renamed log only if
+ * its generation is newer than the one of stats.json, and no combat is counted twice.
+ * <p>
+ * stats.json is an object with the statistics and that generation, {"logGeneration": N, "statistics": [...]}.
+ * The generation is kept in the same file as the statistics because both must be replaced by a single atomic
+ * move. A stats.json written before the log existed is a plain array of statistics: it is still read, as
+ * generation 0, and the next save rewrites it as an object, which older versions of the game can't read.
  */
 public class StatisticsJsonDAO implements StatisticsDAO {
 
     private static final String PATH = "data/stats.json";
+    private static final String LOG_PATH = "data/stats.log";
+    private final String path;
+    private final String logPath;
     private final Gson gson;
 
+    private static final System.Logger LOGGER = System.getLogger(StatisticsJsonDAO.class.getName());
+
+    //generation of the last log compacted into the JSON file, -1 until the JSON file is read
+    private long logGeneration = -1;
+
+    //writer of the log, opened the first time a result is appended
+    private BufferedWriter logWriter;
+
     /**
      * Constructor for StatisticsJsonDAO.
      * Initializes a Gson instance for JSON processing.
      */
     public StatisticsJsonDAO() {
+        this(PATH, LOG_PATH);
+    }
+
+    /**
+     * Constructor for StatisticsJsonDAO that uses the given files.
+     *
+     * @param path    The path of the statistics JSON file.
+     * @param logPath The path of the log with the combats that are not compacted yet.
+     */
+    public StatisticsJsonDAO(String path, String logPath) {
+        this.path = path;
+        this.logPath = logPath;
         this.gson = new Gson();
     }
 
     /**
-     * Loads game statistics from the JSON file.
+     * Loads game statistics from the JSON file, with the combats of the log that are not compacted yet.
      * If the file does not exist, it initializes a new empty stats.json file.
      *
      * @return {@code ArrayList<Statistics>} A list of all stored statistics.
      * @throws PersistanceException If an error occurs while reading or initializing the file.
      */
     @Override
-    public ArrayList<Statistics> loadStatistics() throws PersistanceException {
-        Path filePath = Path.of(PATH);
+    public synchronized ArrayList<Statistics> loadStatistics() throws PersistanceException {
+        Path filePath = Path.of(path);
 
         if (!Files.exists(filePath)) {
-            try (FileWriter writer = new FileWriter(PATH)) {
-                gson.toJson(new ArrayList<Statistics>(), writer);
-            } catch (IOException e) {
-                throw new PersistanceException("Error initializing stats.json file.", e);
-            }
+            writeSnapshot(new ArrayList<>(), 0);
         }
 
         //loading existing statistics
-        try (JsonReader reader = new JsonReader(new FileReader(PATH))) {
-            Statistics[] statsArray = gson.fromJson(reader, Statistics[].class);
+        StatisticsFile file = readSnapshot();
+        ArrayList<Statistics> statistics = new ArrayList<>(Arrays.asList(file.statistics)); // Convert array to ArrayList
+        logGeneration = file.logGeneration;
 
-            return new ArrayList<>(Arrays.asList(statsArray)); // Convert array to ArrayList
-        } catch (JsonSyntaxException | IOException e) {
-            throw new PersistanceException("Couldn't read teams file: " + PATH, e);
+        //logs renamed by a compaction that did not finish, oldest first
+        for (long generation : rotatedGenerations()) {
+            if (generation > logGeneration) {
+                replayLog(rotatedLog(generation), statistics);
+            }
         }
+        replayLog(Path.of(logPath), statistics);
+        return statistics;
     }
 
+    /**
+     * Reads the JSON file. A file without a log generation is a plain array of statistics, of generation 0.
+     *
+     * @return The content of the JSON file.
+     * @throws PersistanceException If an error occurs while reading the file.
+     */
+    private StatisticsFile readSnapshot() throws PersistanceException {
+        try (JsonReader reader = new JsonReader(new FileReader(path))) {
+            JsonElement root = JsonParser.parseReader(reader);
+            StatisticsFile file;
+            if (root.isJsonArray()) {
+                file = new StatisticsFile(gson.fromJson(root, Statistics[].class), 0);
+            } else {
+                file = gson.fromJson(root, StatisticsFile.class);
+            }
+
+            if (file.statistics == null) {
+                file.statistics = new Statistics[0];
+            }
+            return file;
+        } catch (JsonSyntaxException | IllegalStateException | IOException e) {
+            throw new PersistanceException("Couldn't read statistics file: " + path, e);
+        }
+    }
 
     /**
-     * Saves the updated game statistics to the JSON file.
+     * Applies every combat of a log to the statistics.
+     * A line that can't be parsed is skipped, since it can only be a result that was not completely written,
+     * and the number of skipped lines is logged.
+     *
+     * @param logFile    The log to replay.
+     * @param statistics The statistics loaded from the JSON file.
+     * @throws PersistanceException If an error occurs while reading the log.
+     */
+    private void replayLog(Path logFile, List<Statistics> statistics) throws PersistanceException {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    CombatResult result = gson.fromJson(line, CombatResult.class);
+                    if (result != null) {
+                        result.applyTo(statistics);
+                    }
+                } catch (JsonSyntaxException e) {
+                    //incomplete record
+                    skipped++;
+                }
+            }
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't read statistics log: " + logFile, e);
+        }
+
+        if (skipped > 0) {
+            LOGGER.log(System.Logger.Level.WARNING, "Skipped " + skipped + " incomplete lines of the statistics log: " + logFile);
+        }
+    }
+
+    /**
+     * Saves the updated game statistics to the JSON file and empties the log, since its combats are
+     * already part of the statistics. The log is renamed to the next generation before the JSON file is
+     * written, and the renamed logs are only deleted once the JSON file with that generation is in place.
      *
      * @param statistics The list of statistics to be saved.
      * @throws PersistanceException If an error occurs while writing to the file.
      */
     @Override
-    public void saveStatistics(List<Statistics> statistics) throws PersistanceException {
-        try (FileWriter writer = new FileWriter(PATH)) {
+    public synchronized void saveStatistics(List<Statistics> statistics) throws PersistanceException {
+        if (logGeneration < 0) {
+            logGeneration = Files.exists(Path.of(path)) ? readSnapshot().logGeneration : 0;
+        }
+        List<Long> rotated = rotatedGenerations();
+        long generation = Math.max(logGeneration, rotated.isEmpty() ? 0 : rotated.get(rotated.size() - 1)) + 1;
+
+        try {
+            if (logWriter != null) {
+                logWriter.close();
+                logWriter = null;
+            }
+            Path logFile = Path.of(logPath);
+            if (Files.exists(logFile)) {
+                Files.move(logFile, rotatedLog(generation), StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't rotate statistics log: " + logPath, e);
+        }
+
+        writeSnapshot(statistics, generation);
+        logGeneration = generation;
+
+        try {
+            for (long rotatedGeneration : rotatedGenerations()) {
+                if (rotatedGeneration <= generation) {
+                    Files.deleteIfExists(rotatedLog(rotatedGeneration));
+                }
+            }
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't delete statistics log: " + logPath, e);
+        }
+    }
+
+    /**
+     * Writes the statistics and the generation of the last compacted log to the JSON file.
+     * The file is written to a temporary file first and then moved, so a failure while writing never
+     * leaves a partial stats.json.
+     *
+     * @param statistics The list of statistics to be saved.
+     * @param generation The generation of the last log included in the statistics.
+     * @throws PersistanceException If an error occurs while writing to the file.
+     */
+    private void writeSnapshot(List<Statistics> statistics, long generation) throws PersistanceException {
+        Path filePath = Path.of(path);
+        Path tempPath = Path.of(path + ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            gson.toJson(statistics, writer);
+            gson.toJson(new StatisticsFile(statistics.toArray(new Statistics[0]), generation), writer);
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't write statistics file: " + path, e);
+        }
+
+        try {
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException e) {
-            throw new PersistanceException("Couldn't write teams file: " + PATH, e);
+            throw new PersistanceException("Couldn't write statistics file: " + path, e);
+        }
+    }
+
+    /**
+     * Appends the result of a combat as one line of the log.
+     * The line is flushed immediately, so the cost does not depend on the number of stored statistics.
+     *
+     * @param result The result of the combat.
+     * @throws PersistanceException If an error occurs while writing to the log.
+     */
+    @Override
+    public void appendCombatResult(CombatResult result) throws PersistanceException {
+        appendCombatResults(List.of(result));
+    }
+
+    /**
+     * Appends the results of several combats as lines of the log, flushing them together.
+     *
+     * @param results The results of the combats.
+     * @throws PersistanceException If an error occurs while writing to the log.
+     */
+    @Override
+    public synchronized void appendCombatResults(List<CombatResult> results) throws PersistanceException {
+        try {
+            if (logWriter == null) {
+                boolean torn = endsWithoutNewline(Path.of(logPath));
+                logWriter = Files.newBufferedWriter(Path.of(logPath), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (torn) {
+                    //end the line that was not completely written, so the next result is not glued to it
+                    logWriter.newLine();
+                }
+            }
+            for (CombatResult result : results) {
+                logWriter.write(gson.toJson(result));
+                logWriter.newLine();
+            }
+            logWriter.flush();
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't write statistics log: " + logPath, e);
+        }
+    }
+
+    /**
+     * Checks if a log ends with a line that was not completely written.
+     *
+     * @param logFile The log to check.
+     * @return true if the log is not empty and its last byte is not a newline, false otherwise.
+     * @throws IOException If an error occurs while reading the log.
+     */
+    private static boolean endsWithoutNewline(Path logFile) throws IOException {
+        if (!Files.exists(logFile)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return false;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) != '\n';
+        }
+    }
+
+    /**
+     * Returns the path of a log renamed by a compaction.
+     *
+     * @param generation The generation of the log.
+     * @return The path of the renamed log.
+     */
+    private Path rotatedLog(long generation) {
+        return Path.of(logPath + "." + generation);
+    }
+
+    /**
+     * Finds the generations of the logs renamed by a compaction that are still on disk.
+     *
+     * @return The generations in ascending order.
+     * @throws PersistanceException If an error occurs while listing the folder of the log.
+     */
+    private List<Long> rotatedGenerations() throws PersistanceException {
+        Path logFile = Path.of(logPath).toAbsolutePath();
+        String prefix = logFile.getFileName() + ".";
+        List<Long> generations = new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(logFile.getParent(), prefix + "*")) {
+            for (Path file : files) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    generations.add(Long.parseLong(suffix));
+                }
+            }
+        } catch (IOException e) {
+            throw new PersistanceException("Couldn't read statistics log folder: " + logPath, e);
+        }
+
+        Collections.sort(generations);
+        return generations;
+    }
+
+    /**
+     * Content of the JSON file: the statistics and the generation of the last log compacted into them.
+     */
+    private static class StatisticsFile {
+        private long logGeneration;
+        private Statistics[] statistics;
+
+        private StatisticsFile(Statistics[] statistics, long logGeneration) {
+            this.statistics = statistics;
+            this.logGeneration = logGeneration;
         }
     }
 
@@ -9,6 +9,7 @@ import business.entities.Team;
 import business.entities.TeamPrint;
 import com.google.gson.*;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import persistance.TeamDAO;
 import persistance.exceptions.PersistanceException;
 
@@ -18,14 +19,18 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Implementation of TeamDAO for managing team data using JSON files.
  * This class provides functionality for loading, saving, deleting, and searching teams in the system.
+ * The file is read with a streaming reader, and the characters of the members are only resolved for
+ * the teams that are returned, so listing or searching teams never resolves any character.
  */
 public class TeamJsonDAO implements TeamDAO {
 
     private static final String PATH = "data/teams.json";
+    private final String path;
     private final Gson gson;
     private CharacterJsonDAO characterJsonDAO;
 
@@ -34,15 +39,26 @@ public class TeamJsonDAO implements TeamDAO {
      * Initializes the Gson instance for JSON processing and ensures the teams file exists.
      */
     public TeamJsonDAO() {
+        this(PATH, new CharacterJsonDAO());
+    }
+
+    /**
+     * Constructor for TeamJsonDAO that uses the given teams file and resolves the members with the given DAO.
+     *
+     * @param path             The path of the teams JSON file.
+     * @param characterJsonDAO The DAO used to resolve the characters of the members.
+     */
+    public TeamJsonDAO(String path, CharacterJsonDAO characterJsonDAO) {
+        this.path = path;
         this.gson = new GsonBuilder().setPrettyPrinting().create();
-        this.characterJsonDAO = new CharacterJsonDAO();
+        this.characterJsonDAO = characterJsonDAO;
         initializeFile();
     }
 
     private void initializeFile() {
-        Path filePath = Path.of(PATH);
+        Path filePath = Path.of(path);
         if (!Files.exists(filePath)) {
-            try (FileWriter writer = new FileWriter(PATH)) {
+            try (FileWriter writer = new FileWriter(path)) {
                 gson.toJson(new ArrayList<>(), writer); // Empty JSON array
             } catch (IOException e) {
                 throw new RuntimeException("Error initializing teams.json file.", e);
@@ -59,11 +75,11 @@ public class TeamJsonDAO implements TeamDAO {
      */
     @Override
     public ArrayList<Team> loadTeams() throws PersistanceException {
-        Path filePath = Path.of(PATH);
+        Path filePath = Path.of(path);
 
         //Create an empty file if missing
         if (!Files.exists(filePath)) {
-            try (FileWriter writer = new FileWriter(PATH)) {
+            try (FileWriter writer = new FileWriter(path)) {
                 gson.toJson(new ArrayList<>(), writer);
             } catch (IOException e) {
                 throw new PersistanceException("Error initializing teams.json file.", e);
@@ -71,7 +87,7 @@ public class TeamJsonDAO implements TeamDAO {
         }
 
         //loading existing teams
-        try (JsonReader reader = new JsonReader(new FileReader(PATH))) {
+        try (JsonReader reader = new JsonReader(new FileReader(path))) {
             TeamPrint[] teamPrints = gson.fromJson(reader, TeamPrint[].class);
             ArrayList<Team> fullTeams = new ArrayList<>();
 
@@ -90,48 +106,110 @@ public class TeamJsonDAO implements TeamDAO {
             return fullTeams; // Convert array to ArrayList
 
         } catch (JsonSyntaxException | IOException e) {
-            throw new PersistanceException("Couldn't read teams file: " + PATH, e);
+            throw new PersistanceException("Couldn't read teams file: " + path, e);
         }
     }
 
 
-    private ArrayList<Team> matchCharacterTeam() throws PersistanceException {
-        ArrayList<Team> teams = loadTeams();
-
-        if (teams == null) return new ArrayList<>(); // Ensure it's not null
-
-        for (Team team : teams) {
-            List<Member> finalMembers = new ArrayList<>();
+    private List<TeamPrint> loadTeamsPrint() {
+            try (JsonReader reader = new JsonReader(new FileReader(path))) {
+                TeamPrint[] teamsArray = gson.fromJson(reader, TeamPrint[].class);
+                return teamsArray != null ? new ArrayList<>(Arrays.asList(teamsArray)) : new ArrayList<>();
+            } catch (IOException | JsonSyntaxException e) {
+                return new ArrayList<>(); // Return empty list if the file is empty or malformed
+            }
+    }
 
-            for (Member member : team.getMembers()) {
-                if (member.getCharacterId() == 0) continue;
+    /**
+     * Loads all teams from the JSON file as stored, without resolving the characters of the members.
+     *
+     * @return {@code List<TeamPrint>} A list of all stored teams.
+     * @throws PersistanceException If the file cannot be read.
+     */
+    @Override
+    public List<TeamPrint> loadTeamPrints() throws PersistanceException {
+        List<TeamPrint> teamPrints = new ArrayList<>();
+        forEachTeamPrint(teamPrints::add);
+        return teamPrints;
+    }
 
-                if (characterJsonDAO == null) {
-                    characterJsonDAO = new CharacterJsonDAO(); // Initialize if null
+    /**
+     * Reads the teams of the file one at a time with a streaming reader, without building the whole array.
+     *
+     * @param visitor Called with every team in file order, returns false to stop reading the file.
+     * @throws PersistanceException If the file cannot be read.
+     */
+    private void forEachTeamPrint(Predicate<TeamPrint> visitor) throws PersistanceException {
+        try (JsonReader reader = new JsonReader(new FileReader(path))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                TeamPrint teamPrint = gson.fromJson(reader, TeamPrint.class);
+                if (!visitor.test(teamPrint)) {
+                    return;
                 }
+            }
+            reader.endArray();
+        } catch (IOException | IllegalStateException | JsonSyntaxException e) {
+            throw new PersistanceException("Couldn't read teams file: " + path, e);
+        }
+    }
 
-                Character character = characterJsonDAO.getCharacterById(member.getCharacterId());
-                if (character == null) continue;
-
-                CombatStrategy strategy = StrategyFactory.createStrategyByName(member.getStrategyName());
+    /**
+     * Reads the names of the teams of the file one at a time, skipping their members without parsing them.
+     * The teams without a name, or with a null name, are skipped.
+     *
+     * @param visitor Called with the name of every named team in file order, returns false to stop reading the file.
+     * @throws PersistanceException If the file cannot be read.
+     */
+    private void forEachTeamName(Predicate<String> visitor) throws PersistanceException {
+        try (JsonReader reader = new JsonReader(new FileReader(path))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String name = null;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals("name") && reader.peek() != JsonToken.NULL) {
+                        name = reader.nextString();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
 
-                //Create a new Member with the strategy
-                Member finalMember = new Member(member.getCharacterId(), character, strategy);
-                finalMembers.add(finalMember);
+                if (name != null && !visitor.test(name)) {
+                    return;
+                }
             }
-            team.setMembers(finalMembers);
+            reader.endArray();
+        } catch (IOException | IllegalStateException e) {
+            throw new PersistanceException("Couldn't read teams file: " + path, e);
         }
-        return teams;
     }
 
+    /**
+     * Builds a Team resolving the characters of its members.
+     * Members without a character or whose character doesn't exist are skipped.
+     *
+     * @param teamPrint The team read from the file.
+     * @return Team The team with its members.
+     * @throws PersistanceException If the characters cannot be read.
+     */
+    private Team buildTeam(TeamPrint teamPrint) throws PersistanceException {
+        List<Member> finalMembers = new ArrayList<>();
 
-    private List<TeamPrint> loadTeamsPrint() {
-            try (JsonReader reader = new JsonReader(new FileReader(PATH))) {
-                TeamPrint[] teamsArray = gson.fromJson(reader, TeamPrint[].class);
-                return teamsArray != null ? new ArrayList<>(Arrays.asList(teamsArray)) : new ArrayList<>();
-            } catch (IOException | JsonSyntaxException e) {
-                return new ArrayList<>(); // Return empty list if the file is empty or malformed
-            }
+        for (MemberPrint memberPrint : teamPrint.getMembers()) {
+            if (memberPrint.getId() == 0) continue;
+
+            Character character = characterJsonDAO.getCharacterById(memberPrint.getId());
+            if (character == null) continue;
+
+            CombatStrategy strategy = StrategyFactory.createStrategyByName(memberPrint.getStrategy());
+            finalMembers.add(new Member(memberPrint.getId(), character, strategy));
+        }
+
+        Team team = new Team(teamPrint.getName());
+        team.setMembers(finalMembers);
+        return team;
     }
 
     /**
@@ -173,12 +251,12 @@ public class TeamJsonDAO implements TeamDAO {
             }
 
             // Save back to the file
-            try (FileWriter writer = new FileWriter(PATH)) {
+            try (FileWriter writer = new FileWriter(path)) {
                 gson.toJson(teams, writer);
             }
 
         } catch (IOException e) {
-            throw new PersistanceException("Couldn't write teams file: " + PATH, e);
+            throw new PersistanceException("Couldn't write teams file: " + path, e);
         }
     }
 
@@ -202,7 +280,7 @@ public class TeamJsonDAO implements TeamDAO {
 
 
         // Write updated list back to file
-        try (FileWriter writer = new FileWriter(PATH)) {
+        try (FileWriter writer = new FileWriter(path)) {
             gson.toJson(teams, writer);
         } catch (IOException e) {
             throw new PersistanceException("Failed to write updated team list", e);
@@ -211,6 +289,7 @@ public class TeamJsonDAO implements TeamDAO {
 
     /**
      * Retrieves a team by its name.
+     * The file is read until the team is found, and only the characters of its members are resolved.
      *
      * @param name The name of the team.
      * @return Team The corresponding team object if found, otherwise null.
@@ -218,29 +297,34 @@ public class TeamJsonDAO implements TeamDAO {
      */
     @Override
     public Team getTeamByName(String name) throws PersistanceException {
-        List<TeamPrint> teams = loadTeamsPrint();
-
-        for (TeamPrint teamPrint : teams) {
+        TeamPrint[] found = new TeamPrint[1];
+        forEachTeamPrint(teamPrint -> {
             if (teamPrint.getName().equalsIgnoreCase(name)) {
-                List<Member> finalMembers = new ArrayList<>();
+                found[0] = teamPrint;
+                return false;
+            }
+            return true;
+        });
 
-                for (MemberPrint memberPrint : teamPrint.getMembers()) {
-                    Character character = characterJsonDAO.getCharacterById(memberPrint.getId());
-                    CombatStrategy strategy = StrategyFactory.createStrategyByName(memberPrint.getStrategy());
-                    finalMembers.add(new Member(memberPrint.getId(), character, strategy));
-                }
+        if (found[0] == null) {
+            return null;
+        }
 
-                Team team = new Team(teamPrint.getName());
-                team.setMembers(finalMembers);
-                return team;
-            }
+        List<Member> finalMembers = new ArrayList<>();
+        for (MemberPrint memberPrint : found[0].getMembers()) {
+            Character character = characterJsonDAO.getCharacterById(memberPrint.getId());
+            CombatStrategy strategy = StrategyFactory.createStrategyByName(memberPrint.getStrategy());
+            finalMembers.add(new Member(memberPrint.getId(), character, strategy));
         }
 
-        return null;
+        Team team = new Team(found[0].getName());
+        team.setMembers(finalMembers);
+        return team;
     }
 
     /**
      * Retrieves a list of team names that contain a specific character.
+     * The file is read one team at a time, so only the current team is kept in memory.
      *
      * @param characterId The ID of the character.
      * @return {@code List<String>} A list of team names containing the specified character.
@@ -251,18 +335,18 @@ public class TeamJsonDAO implements TeamDAO {
         List<String> teamNames = new ArrayList<>();
 
         try {
-            List<TeamPrint> teamPrints = loadTeamsPrint();  // ✅ Usa la versión segura
-            for (TeamPrint teamPrint : teamPrints) {
+            forEachTeamPrint(teamPrint -> {
                 for (MemberPrint member : teamPrint.getMembers()) {
                     if (member.getId() == characterId) {
                         teamNames.add(teamPrint.getName());
                         break;
                     }
                 }
-            }
+                return true;
+            });
 
         } catch (Exception e) {
-            throw new PersistanceException("Error loading teams from " + PATH + ": " + e.getMessage(), e);
+            throw new PersistanceException("Error loading teams from " + path + ": " + e.getMessage(), e);
         }
 
         return teamNames;
@@ -270,6 +354,7 @@ public class TeamJsonDAO implements TeamDAO {
 
     /**
      * Checks if a team with the specified name exists in the system.
+     * Only the names of the teams are read, until the team is found.
      *
      * @param teamName The name of the team to search for.
      * @return boolean True if the team exists, otherwise false.
@@ -277,48 +362,60 @@ public class TeamJsonDAO implements TeamDAO {
      */
     @Override
     public boolean exists(String teamName) throws PersistanceException {
-        List<Team> teams = matchCharacterTeam();
-
-        for (Team team : teams) {
-            if (team.getName().equalsIgnoreCase(teamName)) {
-                return true; // Found the team, return true immediately
+        boolean[] found = {false};
+        forEachTeamName(name -> {
+            if (name.equalsIgnoreCase(teamName)) {
+                found[0] = true; // Found the team, stop reading the file
+                return false;
             }
-        }
+            return true;
+        });
 
-        return false; // No match found, return false
+        return found[0];
     }
 
     /**
-     * Loads the names of all teams in the system.
+     * Loads the names of all teams in the system with a single scan of the file, without reading the members.
      *
      * @return {@code List<String>} A list of all available team names.
      * @throws PersistanceException If an error occurs during loading.
      */
     @Override
     public List<String> loadTeamNames() throws PersistanceException {
-        List<Team> teams = matchCharacterTeam();
-
         List<String> teamNames = new ArrayList<>();
-        for (Team team : teams) {
-            if (team.getName() != null) {
-                teamNames.add(team.getName());
-            }
-        }
+        forEachTeamName(name -> {
+            teamNames.add(name);
+            return true;
+        });
 
         return teamNames;
     }
 
     /**
      * Retrieves a team by its index position in the list.
+     * The file is read until the team, and only the characters of its members are resolved.
      *
      * @param index The index (0-based) of the team in the list.
      * @return Team The corresponding team object.
      * @throws PersistanceException If an error occurs during retrieval.
+     * @throws IndexOutOfBoundsException If there is no team at the index.
      */
     @Override
     public Team findTeamByIndex(int index) throws PersistanceException {
-        List<Team> teams = matchCharacterTeam();
-        return teams.get(index);
+        TeamPrint[] found = new TeamPrint[1];
+        int[] position = {0};
+        forEachTeamPrint(teamPrint -> {
+            if (position[0]++ == index) {
+                found[0] = teamPrint;
+                return false;
+            }
+            return true;
+        });
+
+        if (found[0] == null) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for the teams");
+        }
+        return buildTeam(found[0]);
     }
 
 
@@ -0,0 +1,71 @@
+package presentation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Writes the output of the combats to the console on a background thread, in the order it was submitted.
+ * The combat only queues the values it reports, and the background thread formats and prints them in
+ * batches, so the combat never waits for the console.
+ */
+public class AsyncConsoleSink {
+
+    //output that is not printed yet
+    private final BlockingQueue<Runnable> pending = new LinkedBlockingQueue<>();
+
+    /**
+     * Constructs the sink and starts its background thread.
+     * The thread is a daemon thread, so it never keeps the application alive.
+     */
+    public AsyncConsoleSink() {
+        Thread writer = new Thread(this::run, "console-sink");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues output to be printed on the background thread.
+     *
+     * @param output The code that prints the output, it must only use values that don't change after it is queued.
+     */
+    public void submit(Runnable output) {
+        pending.add(output);
+    }
+
+    /**
+     * Waits until all the queued output is printed, so the caller can write to the console directly.
+     */
+    public void flush() {
+        CountDownLatch printed = new CountDownLatch(1);
+        pending.add(printed::countDown);
+        try {
+            printed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Prints the queued output in batches until the application ends.
+     */
+    private void run() {
+        List<Runnable> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            pending.drainTo(batch);
+
+            for (Runnable output : batch) {
+                output.run();
+            }
+            System.out.flush();
+            batch.clear();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package presentation;
 import business.*;
 import business.entities.*;
 import business.entities.Character;
+import persistance.exceptions.PersistanceException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -10,8 +11,9 @@ import java.util.List;
 /**
  * The controller class manages the user interface and delegating the logic process to the business layer
  * It operates as the control class for user inputs directing the flow of information according to the user.
+ * It listens to the combats and shows their events through an AsyncConsoleSink.
  */
-public class Controller {
+public class Controller implements CombatListener {
 
     private final UI ui;
     private CombatManager combatManager;
@@ -20,6 +22,9 @@ public class Controller {
     private StatisticsManager statisticsManager;
     private CharacterManager characterManager;
 
+    //prints the events of the combats in the background
+    private final AsyncConsoleSink console = new AsyncConsoleSink();
+
 
     /**
      * Constructor of the Controller class
@@ -69,6 +74,7 @@ public class Controller {
                         simulateCombat();
                         break;
                     case EXIT:
+                        saveStatistics();
                         displayMessage("We hope to see you again!");
                         System.exit(0);
                         break;
@@ -120,6 +126,17 @@ public class Controller {
         return charactersOk && itemsOk;
     }
 
+    /**
+     * Saves the statistics of the combats that are not stored yet before the program exits.
+     */
+    private void saveStatistics() {
+        try {
+            statisticsManager.compact();
+        } catch (Exception e) {
+            displayMessage("Error saving statistics: " + e.getMessage());
+        }
+    }
+
 
     /**
      * Displays a message to the user interface.
@@ -352,8 +369,9 @@ public class Controller {
             int teamIndex1 = ui.requestTeamForCombat(1, availableTeams.size()) ;
             int teamIndex2 = ui.requestTeamForCombat(2, availableTeams.size()) ;
 
-            Team team1 = teamManager.findTeamByIndex(teamIndex1);
-            Team team2 = teamManager.findTeamByIndex(teamIndex2);
+            List<Team> selectedTeams = teamManager.findTeamsByIndex(teamIndex1, teamIndex2);
+            Team team1 = selectedTeams.get(0);
+            Team team2 = selectedTeams.get(1);
 
             displayMessage("\nInitializing teams...\n");
 
@@ -364,104 +382,161 @@ public class Controller {
         }
     }
 
+    //*************************************************
+    //************* Combat events *********************
+    //*************************************************
+
     /**
-     * Displays the execution of a combat turn, including damage dealt and received.
+     * Displays the initialization details of both teams and waits until the user is ready.
      *
-     * @param attacker The name of the attacking character.
-     * @param damageAttack The amount of damage dealt by the attacker.
-     * @param weapon The weapon used in the attack.
-     * @param damageReceived The amount of damage received by the defender.
-     * @param defender The name of the defending character.
+     * @param seed  The seed of the combat, not displayed.
+     * @param team1 The first team.
+     * @param team2 The second team.
      */
-    public void displayExecutionTurn(String attacker, double damageAttack, String weapon, double damageReceived, String defender) {
-        ui.displayExecutionTurn(attacker, damageAttack, weapon, damageReceived, defender);
+    @Override
+    public void onCombatStart(long seed, Team team1, Team team2) {
+        ui.displayTeamInitialization(team1, 1);
+        ui.displayTeamInitialization(team2, 2);
+
+        ui.displayEndRoundMessage();
     }
 
     /**
-     * Displays a message when an item breaks due to durability depletion.
+     * Displays the start of a new round with the current stats of both teams.
      *
-     * @param memberName The name of the character whose item broke.
-     * @param itemName The name of the broken item.
+     * @param round The current round number.
+     * @param team1 The first team.
+     * @param team2 The second team.
      */
-    public void displayItemDurabilityBreak(String memberName, String itemName) {
-        ui.displayItemDurabilityBreak(memberName, itemName);
+    @Override
+    public void onRoundStart(int round, Team team1, Team team2) {
+        List<String> team1Lines = formatTeamStats(team1, 1);
+        List<String> team2Lines = formatTeamStats(team2, 2);
+
+        console.submit(() -> {
+            ui.displayRoundMessage(round);
+            ui.displayTeamStats(team1Lines);
+            ui.displayTeamStats(team2Lines);
+        });
     }
 
     /**
-     * Displays the current statistics of a team during combat.
+     * Displays the execution of an attack, including damage dealt and received.
      *
-     * @param team The team whose stats are displayed.
-     * @param teamNumber The number assigned to the team (e.g., Team #1, Team #2).
+     * @param attacker The member performing the attack.
+     * @param defender The member being attacked.
+     * @param attack   The attack value of the attacker.
+     * @param damage   The damage the defender receives.
      */
-    public void displayTeamStats(Team team, int teamNumber) {
-        List<String> lines = formatTeamStats(team, teamNumber);
-        ui.displayTeamStats(lines);
+    @Override
+    public void onAttack(Member attacker, Member defender, double attack, double damage) {
+        String attackerName = attacker.getName();
+        String defenderName = defender.getName();
+        String weaponName = attacker.getWeapon() != null ? attacker.getWeaponName() : "no Weapon (Bare hands)";
+
+        console.submit(() -> ui.displayExecutionTurn(attackerName, attack, weaponName, damage, defenderName));
     }
 
     /**
-     * Converts a team's combat data into formatted display lines.
+     * Displays that a member will defend in the next turn.
      *
-     * @param team The team that it will display and to be formatted to lines
-     * @param teamNumber Number assigned to the team
+     * @param member The defending member.
      */
-    private List<String> formatTeamStats(Team team, int teamNumber) {
-        List<String> lines = new ArrayList<>();
-        lines.add("Team #" + teamNumber + " - " + team.getName());
+    @Override
+    public void onDefend(Member member) {
+        String memberName = member.getName();
 
-        for (Member member : team.getMembers())  {
-            String status = member.isKO() ? "KO" : Math.round(member.getDamageTaken() * 100) + " %";
-            String weapon = member.getWeaponName();  // Handles nulls inside Member class if needed
-            String armor = member.getArmorName();
-            lines.add("\t- " + member.getName() + " (" + status + ") " + weapon + " - " + armor);
-        }
+        console.submit(() -> ui.displayMessage("\n" + memberName + " will defend in the next turn.\n"));
+    }
 
-        return lines;
+    /**
+     * Displays the weapon picked by a member, or that it couldn't pick one.
+     *
+     * @param member The member that requested a weapon.
+     */
+    @Override
+    public void onWeaponRequest(Member member) {
+        String memberName = member.getName();
+        String weaponName = member.getWeapon() != null ? member.getWeaponName() : null;
+
+        console.submit(() -> {
+            if (weaponName != null) {
+                ui.displayMessage("\n" + memberName + " picks " + weaponName + " as a random weapon!\n");
+            } else {
+                ui.displayMessage("\n" + memberName + " couldn't pick a weapon!\n");
+            }
+        });
     }
 
     /**
-     * Displays the initialization details of a team, including its assigned weapons and armor.
+     * Displays a message when an item breaks due to durability depletion.
      *
-     * @param team The team being initialized.
-     * @param teamNumber The number assigned to the team (e.g., Team #1, Team #2).
+     * @param member The member whose item broke.
+     * @param item   The broken item.
      */
-    public void displayTeamInitialization(Team team, int teamNumber) {
-        ui.displayTeamInitialization(team,teamNumber);
+    @Override
+    public void onItemBreak(Member member, Item item) {
+        String memberName = member.getName();
+        String itemName = item.getName();
+
+        console.submit(() -> ui.displayItemDurabilityBreak(memberName, itemName));
     }
 
     /**
-     * Displays a message indicating the start of a new combat round.
+     * Displays a message when a member is knocked out.
      *
-     * @param round The current round number.
+     * @param member The knocked out member.
      */
-    public void displayRoundMessage(int round) {
-        ui.displayRoundMessage(round);
+    @Override
+    public void onKO(Member member) {
+        String memberName = member.getName();
+
+        console.submit(() -> ui.displayKOMember(memberName));
     }
 
     /**
-     * Displays a message when a character is knocked out.
+     * Displays the combat result once all the rounds are printed.
      *
-     * @param memberName The name of the character who was knocked out.
+     * @param winner The winning team (null if it's a tie).
+     * @param team1  The first team that participated in the combat.
+     * @param team2  The second team that participated in the combat.
      */
-    public void displayKOMember(String memberName) {
-        ui.displayKOMember(memberName);
+    @Override
+    public void onCombatEnd(Team winner, Team team1, Team team2) {
+        console.flush();
+        ui.displayCombatResult(winner, team1, team2);
     }
 
     /**
-     * Displays the combat result, showing the winning team and remaining character stats.
+     * Displays an error of the combat once all the previous events are printed.
      *
-     * @param teamWinner The winning team (null if it's a tie).
-     * @param team1 The first team that participated in the combat.
-     * @param team2 The second team that participated in the combat.
+     * @param message The description of the operation that failed.
+     * @param e       The error.
      */
-    public void displayCombatResult(Team teamWinner, Team team1, Team team2) {
-        ui.displayCombatResult(teamWinner, team1, team2);
+    @Override
+    public void onError(String message, PersistanceException e) {
+        console.flush();
+        displayMessage(message + ": " + e.getMessage());
     }
 
     /**
-     * Displays a message indicating the end of a combat round.
+     * Converts a team's combat data into formatted display lines.
+     *
+     * @param team The team that it will display and to be formatted to lines
+     * @param teamNumber Number assigned to the team
      */
-    public void displayEndRoundMessage() {
-        ui.displayEndRoundMessage();
+    private List<String> formatTeamStats(Team team, int teamNumber) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Team #" + teamNumber + " - " + team.getName());
+
+        for (Member member : team.getMembers())  {
+            String status = member.isKO() ? "KO" : Math.round(member.getDamageTaken() * 100) + " %";
+            String weapon = member.getWeaponName();  // Handles nulls inside Member class if needed
+            String armor = member.getArmorName();
+            lines.add("\t- " + member.getName() + " (" + status + ") " + weapon + " - " + armor);
+        }
+
+        return lines;
     }
 
 
@@ -0,0 +1,153 @@
+package business;
+
+import business.entities.Character;
+import business.entities.CombatReplay;
+import business.entities.Member;
+import business.entities.Team;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import persistance.binary.CombatReplayReader;
+import persistance.binary.CombatReplayWriter;
+import persistance.json.CharacterJsonDAO;
+import persistance.json.ItemJsonDAO;
+import persistance.json.StatisticsJsonDAO;
+import persistance.json.TeamJsonDAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the combats recorded in a replay file are read back and reproduced by CombatReplayer.
+ */
+class CombatReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordedCombatsAreReproduced() throws IOException {
+        Fixture fixture = new Fixture(directory);
+        String replay = directory.resolve("combats.replay").toString();
+
+        List<Team> teams = fixture.teamManager.loadTeams();
+        try (CombatReplayWriter writer = CombatReplayWriter.open(replay)) {
+            fixture.combatManager.simulateCombats(new Team(teams.get(0)), new Team(teams.get(1)), 20, new SplittableRandom(7), writer);
+        }
+
+        assertEquals(20, countCombats(replay));
+        assertTrue(fixture.replayer.replayAll(replay).isEmpty(), "every combat is reproduced");
+    }
+
+    @Test
+    void truncatedLastCombatIsIgnored() throws IOException {
+        Fixture fixture = new Fixture(directory);
+        Path replay = directory.resolve("combats.replay");
+
+        List<Team> teams = fixture.teamManager.loadTeams();
+        try (CombatReplayWriter writer = CombatReplayWriter.open(replay.toString())) {
+            fixture.combatManager.simulateCombats(new Team(teams.get(0)), new Team(teams.get(1)), 5, new SplittableRandom(7), writer);
+        }
+        byte[] bytes = Files.readAllBytes(replay);
+        Files.write(replay, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertEquals(4, countCombats(replay.toString()));
+        assertTrue(fixture.replayer.replayAll(replay.toString()).isEmpty(), "the complete combats are reproduced");
+    }
+
+    @Test
+    void combatsWithMoreThan256MembersAreReproduced() throws IOException {
+        Fixture fixture = new Fixture(directory);
+        String replay = directory.resolve("combats.replay").toString();
+        Team team1 = largeTeam("Large 1", fixture.characters, 150);
+        Team team2 = largeTeam("Large 2", fixture.characters, 150);
+
+        try (CombatReplayWriter writer = CombatReplayWriter.open(replay)) {
+            fixture.combatManager.simulateCombats(new Team(team1), new Team(team2), 3, new SplittableRandom(11), writer);
+        }
+
+        try (CombatReplayReader reader = new CombatReplayReader(replay)) {
+            CombatReplay combat;
+            int combats = 0;
+            while ((combat = reader.next()) != null) {
+                assertTrue(fixture.replayer.replay(combat, team1, team2), "combat " + combats + " is reproduced");
+                combats++;
+            }
+            assertEquals(3, combats);
+        }
+    }
+
+    private static int countCombats(String replay) {
+        int combats = 0;
+        try (CombatReplayReader reader = new CombatReplayReader(replay)) {
+            while (reader.next() != null) {
+                combats++;
+            }
+        }
+        return combats;
+    }
+
+    private static Team largeTeam(String name, List<Character> characters, int size) {
+        String[] strategies = {"offensive", "sniper", "balanced", "defensive"};
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Character character = characters.get(i % characters.size());
+            members.add(new Member(character.getId(), character, StrategyFactory.createStrategyByName(strategies[i % strategies.length])));
+        }
+        Team team = new Team(name);
+        team.setMembers(members);
+        return team;
+    }
+
+    /**
+     * Managers over small data files in a temporary folder.
+     */
+    private static class Fixture {
+        private final List<Character> characters;
+        private final TeamManager teamManager;
+        private final CombatManager combatManager;
+        private final CombatReplayer replayer;
+
+        private Fixture(Path directory) throws IOException {
+            Path items = Files.writeString(directory.resolve("items.json"), """
+                    [
+                      {"id": 1, "name": "Welder", "power": 56, "durability": 4, "class": "Superweapon"},
+                      {"id": 2, "name": "Stapler", "power": 20, "durability": 6, "class": "Weapon"},
+                      {"id": 3, "name": "Hoodie", "power": 30, "durability": 5, "class": "Armor"},
+                      {"id": 4, "name": "Exoskeleton", "power": 12, "durability": 3, "class": "Superarmor"}
+                    ]""");
+            Path characters = Files.writeString(directory.resolve("characters.json"), """
+                    [
+                      {"id": 10, "name": "Heavy", "weight": 140},
+                      {"id": 11, "name": "Medium", "weight": 110},
+                      {"id": 12, "name": "Light", "weight": 80},
+                      {"id": 13, "name": "Feather", "weight": 60}
+                    ]""");
+            Path teams = Files.writeString(directory.resolve("teams.json"), """
+                    [
+                      {"name": "Alpha", "members": [
+                        {"id": 10, "strategy": "balanced"}, {"id": 11, "strategy": "offensive"},
+                        {"id": 12, "strategy": "defensive"}, {"id": 13, "strategy": "sniper"}]},
+                      {"name": "Beta", "members": [
+                        {"id": 13, "strategy": "offensive"}, {"id": 12, "strategy": "offensive"},
+                        {"id": 11, "strategy": "sniper"}, {"id": 10, "strategy": "balanced"}]}
+                    ]""");
+
+            CharacterJsonDAO characterDAO = new CharacterJsonDAO(characters.toString());
+            ItemManager itemManager = new ItemManager(new ItemJsonDAO(items.toString()));
+            this.characters = characterDAO.loadAllCharacters();
+            this.teamManager = new TeamManager(itemManager, new TeamJsonDAO(teams.toString(), characterDAO));
+            StatisticsManager statisticsManager = new StatisticsManager(new StatisticsJsonDAO(
+                    directory.resolve("stats.json").toString(), directory.resolve("stats.log").toString()));
+            this.combatManager = new CombatManager(itemManager, teamManager, statisticsManager);
+            this.replayer = new CombatReplayer(teamManager, combatManager);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package business;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that TargetIndex selects the same members as scanning the team in order, as the combats did before it.
+ */
+class TargetIndexTest {
+
+    @Test
+    void emptyTeamHasNoTargets() {
+        TargetIndex index = new TargetIndex(0);
+        SplittableRandom random = new SplittableRandom(1);
+
+        assertEquals(0, index.aliveCount());
+        assertEquals(-1, index.mostDamaged());
+        assertEquals(-1, index.randomAlive(random));
+        assertEquals(new SplittableRandom(1).nextLong(), random.nextLong(), "no random number is drawn without targets");
+    }
+
+    @Test
+    void knockedOutTeamHasNoTargets() {
+        TargetIndex index = new TargetIndex(3);
+        for (int member = 0; member < 3; member++) {
+            index.knockOut(member);
+        }
+
+        assertEquals(0, index.aliveCount());
+        assertEquals(-1, index.mostDamaged());
+        assertEquals(-1, index.randomAlive(new SplittableRandom(1)));
+    }
+
+    @Test
+    void tiesGoToTheFirstMember() {
+        TargetIndex index = new TargetIndex(4);
+        assertEquals(0, index.mostDamaged());
+
+        index.setDamage(2, 0.5);
+        index.setDamage(3, 0.5);
+        assertEquals(2, index.mostDamaged());
+
+        index.knockOut(2);
+        assertEquals(3, index.mostDamaged());
+
+        index.setDamage(1, 0.5);
+        assertEquals(1, index.mostDamaged());
+    }
+
+    @Test
+    void selectionsMatchLinearScans() {
+        SplittableRandom scenario = new SplittableRandom(42);
+        for (int size : new int[]{1, 2, 5, 63, 64, 65, 130, 300}) {
+            TargetIndex index = new TargetIndex(size);
+            double[] damage = new double[size];
+            boolean[] ko = new boolean[size];
+
+            for (int step = 0; step < 4 * size; step++) {
+                int member = scenario.nextInt(size);
+                if (scenario.nextInt(4) == 0) {
+                    ko[member] = true;
+                    index.knockOut(member);
+                } else {
+                    //few damage values, so there are many ties
+                    damage[member] = scenario.nextInt(4) * 0.5;
+                    index.setDamage(member, damage[member]);
+                }
+
+                assertEquals(mostDamagedScan(damage, ko), index.mostDamaged(), "most damaged of " + size);
+                long seed = scenario.nextLong();
+                assertEquals(randomScan(ko, new SplittableRandom(seed)), index.randomAlive(new SplittableRandom(seed)),
+                        "random target of " + size);
+            }
+        }
+    }
+
+    /**
+     * Selects the first member that is not KO with the most damage, scanning the team in order.
+     */
+    private static int mostDamagedScan(double[] damage, boolean[] ko) {
+        int target = -1;
+        for (int i = 0; i < damage.length; i++) {
+            if (!ko[i] && (target < 0 || damage[i] > damage[target])) {
+                target = i;
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Selects the n-th member that is not KO, scanning the team in order.
+     */
+    private static int randomScan(boolean[] ko, SplittableRandom random) {
+        int alive = 0;
+        for (boolean knockedOut : ko) {
+            if (!knockedOut) {
+                alive++;
+            }
+        }
+        if (alive == 0) {
+            return -1;
+        }
+
+        int remaining = random.nextInt(alive);
+        for (int i = 0; i < ko.length; i++) {
+            if (!ko[i] && remaining-- == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,91 @@
+package persistance.binary;
+
+import business.StrategyFactory;
+import business.entities.Character;
+import business.entities.CombatReplay;
+import business.entities.Member;
+import business.entities.Team;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import persistance.exceptions.PersistanceException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the encoding of the events written by CombatReplayWriter.
+ */
+class CombatReplayWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void positionsPastAByteAreReadBack() {
+        Team team1 = team("First", 200);
+        Team team2 = team("Second", 200);
+        String replay = directory.resolve("combats.replay").toString();
+
+        try (CombatReplayWriter writer = CombatReplayWriter.open(replay)) {
+            writer.onCombatStart(5, team1, team2);
+            writer.onRoundStart(1, team1, team2);
+            writer.onAttack(team2.getMembers().get(199), team1.getMembers().get(128), 0, 0.25);
+            writer.onKO(team2.getMembers().get(56));
+            writer.onCombatEnd(team1, team1, team2);
+        }
+
+        try (CombatReplayReader reader = new CombatReplayReader(replay)) {
+            CombatReplay combat = reader.next();
+            assertEquals(5L, combat.getSeed());
+            assertNull(reader.next());
+
+            ByteBuffer events = ByteBuffer.wrap(combat.getEvents());
+            events.position(1 + 8);
+            skipName(events);
+            skipName(events);
+
+            assertEquals(ReplayFormat.ROUND_START, events.get());
+            assertEquals(ReplayFormat.ATTACK, events.get());
+            assertEquals(399, Short.toUnsignedInt(events.getShort()));
+            assertEquals(128, Short.toUnsignedInt(events.getShort()));
+            assertEquals(0.25f, events.getFloat());
+            assertEquals(ReplayFormat.KO, events.get());
+            assertEquals(256, Short.toUnsignedInt(events.getShort()));
+            assertEquals(ReplayFormat.COMBAT_END, events.get());
+        }
+    }
+
+    @Test
+    void combatsThatCantBeEncodedAreRejected() {
+        CombatReplayWriter writer = new CombatReplayWriter(Channels.newChannel(new ByteArrayOutputStream()));
+
+        assertThrows(PersistanceException.class,
+                () -> writer.onCombatStart(1, team("First", ReplayFormat.MAX_MEMBERS), team("Second", 1)));
+        assertThrows(PersistanceException.class,
+                () -> writer.onCombatStart(1, team("x".repeat(70_000), 1), team("Second", 1)));
+    }
+
+    private static void skipName(ByteBuffer events) {
+        int length = Short.toUnsignedInt(events.getShort());
+        events.position(events.position() + length);
+    }
+
+    private static Team team(String name, int size) {
+        Character character = new Character(1, "Member", 100);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            members.add(new Member(i, character, StrategyFactory.createStrategyByName("balanced")));
+        }
+        Team team = new Team(name);
+        team.setMembers(members);
+        return team;
+    }
+}
@@ -0,0 +1,72 @@
+package persistance.json;
+
+import business.entities.CombatResult;
+import business.entities.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that the statistics log and its compaction neither lose nor count twice any combat.
+ */
+class StatisticsJsonDAOTest {
+
+    private static final String RESULT = "{\"team1\":\"A\",\"team2\":\"B\",\"KO_team1\":1,\"KO_team2\":2,\"winner\":\"A\"}\n";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void compactionRecoversFromLeftoverLogsAndTornLines() throws IOException {
+        Files.writeString(directory.resolve("stats.json"), "[]");
+        StatisticsJsonDAO dao = newDAO();
+        dao.appendCombatResults(List.of(win(), win(), win()));
+        dao.saveStatistics(dao.loadStatistics());
+        assertEquals(3, gamesPlayed("A"));
+
+        //crash after writing stats.json of generation 1 and before deleting the renamed log
+        Files.writeString(directory.resolve("stats.log.1"), RESULT + RESULT);
+        //crash after renaming the log of generation 2 and before writing stats.json
+        Files.writeString(directory.resolve("stats.log.2"), RESULT);
+        //crash while appending a result, then a new result
+        Files.writeString(directory.resolve("stats.log"), "{\"team1\":\"A\",\"te");
+        newDAO().appendCombatResults(List.of(win()));
+
+        assertEquals(5, gamesPlayed("A"), "only the pending renamed log and the complete line are counted");
+
+        StatisticsJsonDAO recovered = newDAO();
+        recovered.saveStatistics(recovered.loadStatistics());
+        assertEquals(5, gamesPlayed("A"), "the compaction keeps every combat once");
+        assertEquals(5, gamesPlayed("B"));
+        assertFalse(Files.exists(directory.resolve("stats.log")));
+        assertFalse(Files.exists(directory.resolve("stats.log.1")));
+        assertFalse(Files.exists(directory.resolve("stats.log.2")));
+
+        newDAO().appendCombatResults(List.of(win()));
+        Files.writeString(directory.resolve("stats.log"), "{\"team1\"", StandardOpenOption.APPEND);
+        assertEquals(6, gamesPlayed("A"), "a torn last line is skipped");
+    }
+
+    private StatisticsJsonDAO newDAO() {
+        return new StatisticsJsonDAO(directory.resolve("stats.json").toString(), directory.resolve("stats.log").toString());
+    }
+
+    private static CombatResult win() {
+        return new CombatResult("A", "B", 1, 2, "A");
+    }
+
+    private int gamesPlayed(String team) {
+        return newDAO().loadStatistics().stream()
+                .filter(statistics -> statistics.getName().equals(team))
+                .mapToInt(Statistics::getGames_played)
+                .sum();
+    }
+}